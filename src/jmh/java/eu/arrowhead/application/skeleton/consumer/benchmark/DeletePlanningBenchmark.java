@@ -0,0 +1,79 @@
+package eu.arrowhead.application.skeleton.consumer.benchmark;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.arrowhead.application.skeleton.consumer.apply.AuthRuleOperations;
+import eu.arrowhead.application.skeleton.consumer.apply.AuthRuleUpdater;
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+import eu.arrowhead.application.skeleton.consumer.resolver.RegistryResolver;
+import eu.arrowhead.application.skeleton.consumer.rule.AuthorizationState;
+import eu.arrowhead.application.skeleton.consumer.rule.ExpandedRules;
+
+/**
+ * Planning the DELETE and POST operations against the existing rules (ConsumerMain.getRuleIdsToDelete and the reconciliation).
+ * No HTTP call is made, the planning only uses the in-memory authorization state.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeletePlanningBenchmark {
+
+	//=================================================================================================
+	// members
+
+	@Param({ "40000" })
+	private int systemCount;
+
+	@Param({ "1000", "20000", "100000" })
+	private int ruleCount;
+
+	private AuthRuleUpdater updater;
+	private List<AuthRule> rules;
+	private ExpandedRules desired;
+	private AuthorizationState state;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@Setup(Level.Trial)
+	public void setUp() {
+		final SyntheticCloud cloud = new SyntheticCloud(systemCount, 500);
+		final RegistryResolver resolver = new RegistryResolver(cloud.getSystems(), cloud.getServices(), cloud.getInterfaces());
+		updater = new AuthRuleUpdater(resolver, null, 100, 1);
+		rules = cloud.generateRules(ruleCount, 42);
+		desired = updater.expand(rules);
+		state = new AuthorizationState();
+		state.accept(cloud.generateExistingRules(desired.getAuthorizations(), 7));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Benchmark
+	public AuthRuleOperations planReplacement() {
+		return updater.planReplacement(rules, state);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Benchmark
+	public AuthRuleOperations planReconciliation() {
+		return updater.planReconciliation(desired, Set.of(), state);
+	}
+}
@@ -0,0 +1,133 @@
+package eu.arrowhead.application.skeleton.consumer.benchmark;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import eu.arrowhead.application.skeleton.consumer.ConsumerConstants;
+import eu.arrowhead.application.skeleton.consumer.apply.AuthRuleOperations;
+import eu.arrowhead.application.skeleton.consumer.apply.AuthRuleUpdater;
+import eu.arrowhead.application.skeleton.consumer.client.AuthorizationClient;
+import eu.arrowhead.application.skeleton.consumer.client.PagedFetcher;
+import eu.arrowhead.application.skeleton.consumer.client.ServiceRegistryClient;
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+import eu.arrowhead.application.skeleton.consumer.metrics.RunMetrics;
+import eu.arrowhead.application.skeleton.consumer.resolver.RegistryLoader;
+import eu.arrowhead.application.skeleton.consumer.resolver.RegistryResolver;
+import eu.arrowhead.application.skeleton.consumer.rule.AuthRuleExpander;
+import eu.arrowhead.application.skeleton.consumer.rule.AuthRuleReader;
+import eu.arrowhead.application.skeleton.consumer.rule.AuthorizationState;
+import eu.arrowhead.common.CommonConstants;
+
+/**
+ * End-to-end load test: runs the same steps as ConsumerMain over HTTP against a MockArrowheadCloud and reports the
+ * throughput and the p50/p99 latency of every operation type. Arguments are key=value pairs (see the README).
+ */
+public class EndToEndBenchmark {
+
+	//=================================================================================================
+	// members
+
+	private final Map<String, String> settings;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public static void main(final String[] args) throws Exception {
+		final Map<String, String> settings = new HashMap<>();
+		for (final String arg : args) {
+			final String[] parts = arg.split("=", 2);
+			if (parts.length != 2) {
+				throw new IllegalArgumentException("Invalid argument: " + arg + " (expected key=value)");
+			}
+			settings.put(parts[0].trim(), parts[1].trim());
+		}
+
+		new EndToEndBenchmark(settings).run();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public EndToEndBenchmark(final Map<String, String> settings) {
+		this.settings = settings;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void run() throws Exception {
+		final SyntheticCloud cloud = new SyntheticCloud(getInt("systems", 40000), getInt("services", 500));
+		final List<AuthRule> generatedRules = cloud.generateRules(getInt("rules", 20000), 42);
+		final File rulesFile = File.createTempFile("rules-e2e", ".json");
+		rulesFile.deleteOnExit();
+		cloud.writeRules(generatedRules, rulesFile);
+
+		try (final MockArrowheadCloud mock = new MockArrowheadCloud(cloud, getInt("latency_ms", 5), getInt("jitter_ms", 5), Double.parseDouble(settings.getOrDefault("error_rate", "0")),
+																	 getInt("error_status", 400), getInt("padding", 0))) {
+			if (getBoolean("existing", true)) {
+				final RegistryResolver seedResolver = new RegistryResolver(cloud.getSystems(), cloud.getServices(), cloud.getInterfaces());
+				mock.seed(cloud.generateExistingRules(new AuthRuleExpander(seedResolver).expand(generatedRules).getAuthorizations(), 7));
+			}
+			mock.start();
+			System.out.println("Mock cloud started on port " + mock.getPort() + " with " + mock.getAuthorizationCount() + " existing authorization rule(s), settings: " + settings);
+
+			final LatencyRecorder recorder = new LatencyRecorder();
+			final long start = System.nanoTime();
+			final boolean success = update(new RecordingHttpServiceClient(recorder), mock.getPort(), rulesFile);
+			final long wallNanos = System.nanoTime() - start;
+
+			System.out.println("Update " + (success ? "finished" : "failed") + " in " + TimeUnit.NANOSECONDS.toMillis(wallNanos) + " ms, authorization rules after the update: " + mock.getAuthorizationCount());
+			recorder.report(System.out, wallNanos);
+		}
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	// same steps as ConsumerMain.run, without the snapshot cache
+	private boolean update(final RecordingHttpServiceClient httpService, final int port, final File rulesFile) throws Exception {
+		final RunMetrics metrics = new RunMetrics();
+		final PagedFetcher pagedFetcher = new PagedFetcher(getInt("page_size", 1000), getInt("page_fetch_parallelism", 4));
+		final ServiceRegistryClient serviceRegistryClient = new ServiceRegistryClient(httpService, pagedFetcher, metrics, CommonConstants.HTTP, "localhost", port);
+
+		final ExecutorService fetchPool = Executors.newFixedThreadPool(4);
+		try {
+			final RegistryLoader registryLoader = new RegistryLoader(serviceRegistryClient, null, fetchPool);
+			final CompletableFuture<RegistryResolver> registryFuture = CompletableFuture.supplyAsync(registryLoader::load, fetchPool);
+			final List<AuthRule> rules = new AuthRuleReader().readAll(rulesFile);
+			final RegistryResolver resolver = registryFuture.join();
+
+			final Map<String, String> authorizationUri = new HashMap<>();
+			authorizationUri.put(ConsumerConstants.SCHEME, CommonConstants.HTTP);
+			authorizationUri.put(ConsumerConstants.HOST, "localhost");
+			authorizationUri.put(ConsumerConstants.PORT, Integer.toString(port));
+			authorizationUri.put(ConsumerConstants.PATH, CommonConstants.AUTHORIZATION_URI);
+
+			final AuthRuleUpdater updater = new AuthRuleUpdater(resolver, new AuthorizationClient(httpService, pagedFetcher, metrics, authorizationUri), getInt("max_batch_size", 100),
+																getInt("apply_parallelism", 8));
+			final AuthorizationState state = updater.fetchState();
+			final AuthRuleOperations operations = getBoolean("reconciliation", true) ? updater.planReconciliation(updater.expand(rules), Set.of(), state)
+																					  : updater.planReplacement(rules, state);
+			System.out.println("Planned operations: " + operations.toString());
+
+			return updater.apply(operations, state);
+		} finally {
+			fetchPool.shutdownNow();
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private int getInt(final String key, final int defaultValue) {
+		return settings.containsKey(key) ? Integer.parseInt(settings.get(key)) : defaultValue;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private boolean getBoolean(final String key, final boolean defaultValue) {
+		return settings.containsKey(key) ? Boolean.parseBoolean(settings.get(key)) : defaultValue;
+	}
+}
@@ -0,0 +1,71 @@
+package eu.arrowhead.application.skeleton.consumer.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudRequestDTO;
+import eu.arrowhead.application.skeleton.consumer.resolver.RegistryResolver;
+import eu.arrowhead.application.skeleton.consumer.rule.AuthRuleCoalescer;
+import eu.arrowhead.application.skeleton.consumer.rule.AuthRuleExpander;
+import eu.arrowhead.application.skeleton.consumer.rule.ExpandedRules;
+
+/**
+ * Expanding the rules and building the POST bodies (ConsumerMain.createDTOListFromAuthRules).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpansionBenchmark {
+
+	//=================================================================================================
+	// members
+
+	@Param({ "40000", "200000" })
+	private int systemCount;
+
+	@Param({ "1000", "20000", "100000" })
+	private int ruleCount;
+
+	private RegistryResolver resolver;
+	private List<AuthRule> rules;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@Setup(Level.Trial)
+	public void setUp() {
+		final SyntheticCloud cloud = new SyntheticCloud(systemCount, 500);
+		resolver = new RegistryResolver(cloud.getSystems(), cloud.getServices(), cloud.getInterfaces());
+		rules = cloud.generateRules(ruleCount, 42);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Benchmark
+	public ExpandedRules expand() {
+		return new AuthRuleExpander(resolver).expand(rules);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Benchmark
+	public List<AuthorizationIntraCloudRequestDTO> expandAndCoalesce() {
+		return new AuthRuleCoalescer(100).coalesce(new AuthRuleExpander(resolver).expand(rules).getAuthorizations());
+	}
+}
@@ -0,0 +1,63 @@
+package eu.arrowhead.application.skeleton.consumer.benchmark;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the latency of every call per operation type and reports the throughput and the percentiles.
+ */
+public class LatencyRecorder {
+
+	//=================================================================================================
+	// members
+
+	private final Map<String, List<Long>> latencies = new ConcurrentHashMap<>();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public void record(final String operation, final long nanos) {
+		latencies.computeIfAbsent(operation, k -> Collections.synchronizedList(new ArrayList<>())).add(nanos);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the throughput of an operation type is measured over the whole run
+	public void report(final PrintStream out, final long wallNanos) {
+		final double wallSeconds = wallNanos / (double) TimeUnit.SECONDS.toNanos(1);
+		out.println(String.format("%-45s %10s %12s %10s %10s %10s", "operation", "count", "ops/sec", "p50 (ms)", "p99 (ms)", "max (ms)"));
+
+		for (final Map.Entry<String, List<Long>> entry : new TreeMap<>(latencies).entrySet()) {
+			final long[] sorted;
+			synchronized (entry.getValue()) {
+				sorted = entry.getValue().stream().mapToLong(Long::longValue).toArray();
+			}
+			Arrays.sort(sorted);
+
+			out.println(String.format("%-45s %10d %12.1f %10.2f %10.2f %10.2f", entry.getKey(), sorted.length, sorted.length / wallSeconds, toMillis(percentile(sorted, 50)),
+									  toMillis(percentile(sorted, 99)), toMillis(sorted[sorted.length - 1])));
+		}
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	// nearest-rank percentile
+	private long percentile(final long[] sorted, final int percent) {
+		final int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+		return sorted[Math.max(rank, 1) - 1];
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private double toMillis(final long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+}
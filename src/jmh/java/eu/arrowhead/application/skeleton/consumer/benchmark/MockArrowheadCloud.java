@@ -0,0 +1,312 @@
+package eu.arrowhead.application.skeleton.consumer.benchmark;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import eu.arrowhead.application.skeleton.consumer.ConsumerConstants;
+import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudRequestDTO;
+import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudResponseDTO;
+import eu.arrowhead.application.skeleton.consumer.rule.AuthRuleKey;
+import eu.arrowhead.common.CommonConstants;
+import eu.arrowhead.common.dto.shared.ServiceDefinitionResponseDTO;
+import eu.arrowhead.common.dto.shared.ServiceInterfaceResponseDTO;
+import eu.arrowhead.common.dto.shared.SystemResponseDTO;
+
+/**
+ * Plain HTTP stand-in for the management endpoints of the Service Registry and the Authorization system, seeded from a synthetic cloud.
+ * Every request waits latency + random(0..jitter) milliseconds. Errors are only injected into the POST and DELETE calls, because a failed
+ * list page fails the whole run anyway. The padding adds a metadata entry of the given length to every system to enlarge the responses.
+ */
+public class MockArrowheadCloud implements Closeable {
+
+	//=================================================================================================
+	// members
+
+	private static final String SYSTEMS_PATH = CommonConstants.SERVICEREGISTRY_URI + ConsumerConstants.QUERY_GET_SYSTEMS;
+	private static final String SERVICES_PATH = CommonConstants.SERVICEREGISTRY_URI + ConsumerConstants.QUERY_GET_SERVICES;
+	private static final String INTERFACES_PATH = CommonConstants.SERVICEREGISTRY_URI + ConsumerConstants.QUERY_GET_INTERFACES;
+	private static final String AUTHORIZATIONS_PATH = CommonConstants.AUTHORIZATION_URI + ConsumerConstants.OP_AUTH_INTRA_CLOUD;
+	private static final String PADDING_KEY = "padding";
+	private static final String TIMESTAMP = "2022-01-01 00:00:00";
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final SyntheticCloud cloud;
+	private final List<SystemResponseDTO> systems;
+	private final int latencyMillis;
+	private final int jitterMillis;
+	private final double errorRate;
+	private final int errorStatus;
+
+	// id -> entry, kept in id order for the paged queries
+	private final Map<Long, AuthorizationIntraCloudResponseDTO> authorizations = new ConcurrentSkipListMap<>();
+	private final Map<AuthRuleKey, Long> authorizationIds = new HashMap<>();
+	private long nextAuthorizationId = 1;
+
+	private HttpServer server;
+	private ExecutorService serverPool;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public MockArrowheadCloud(final SyntheticCloud cloud, final int latencyMillis, final int jitterMillis, final double errorRate, final int errorStatus, final int padding) {
+		this.cloud = cloud;
+		this.latencyMillis = latencyMillis;
+		this.jitterMillis = jitterMillis;
+		this.errorRate = errorRate;
+		this.errorStatus = errorStatus;
+		this.systems = padding > 0 ? padSystems(cloud.getSystems(), padding) : cloud.getSystems();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public synchronized void seed(final List<AuthorizationIntraCloudResponseDTO> entries) {
+		for (final AuthorizationIntraCloudResponseDTO entry : entries) {
+			authorizations.put(entry.getId(), entry);
+			authorizationIds.put(keyOf(entry), entry.getId());
+			nextAuthorizationId = Math.max(nextAuthorizationId, entry.getId() + 1);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void start() throws IOException {
+		serverPool = Executors.newCachedThreadPool();
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", this::handle);
+		server.setExecutor(serverPool);
+		server.start();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public int getAuthorizationCount() {
+		return authorizations.size();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public void close() {
+		if (server != null) {
+			server.stop(0);
+			serverPool.shutdownNow();
+		}
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private void handle(final HttpExchange exchange) throws IOException {
+		try {
+			simulateLatency();
+
+			final String method = exchange.getRequestMethod();
+			final String path = exchange.getRequestURI().getPath();
+			final Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+			if ("GET".equals(method) && SYSTEMS_PATH.equals(path)) {
+				respond(exchange, 200, page(systems, query, SystemResponseDTO::getUpdatedAt));
+			} else if ("GET".equals(method) && SERVICES_PATH.equals(path)) {
+				respond(exchange, 200, page(cloud.getServices(), query, ServiceDefinitionResponseDTO::getUpdatedAt));
+			} else if ("GET".equals(method) && INTERFACES_PATH.equals(path)) {
+				respond(exchange, 200, page(cloud.getInterfaces(), query, ServiceInterfaceResponseDTO::getUpdatedAt));
+			} else if ("GET".equals(method) && AUTHORIZATIONS_PATH.equals(path)) {
+				respond(exchange, 200, page(new ArrayList<>(authorizations.values()), query, AuthorizationIntraCloudResponseDTO::getUpdatedAt));
+			} else if ("POST".equals(method) && AUTHORIZATIONS_PATH.equals(path)) {
+				final AuthorizationIntraCloudRequestDTO request;
+				try (final InputStream body = exchange.getRequestBody()) {
+					request = mapper.readValue(body, AuthorizationIntraCloudRequestDTO.class);
+				}
+				if (!injectError(exchange)) {
+					addAuthorizations(exchange, request);
+				}
+			} else if ("DELETE".equals(method) && path.startsWith(AUTHORIZATIONS_PATH + "/")) {
+				if (!injectError(exchange)) {
+					removeAuthorization(Long.parseLong(path.substring(AUTHORIZATIONS_PATH.length() + 1)));
+					respond(exchange, 200, null);
+				}
+			} else {
+				respondError(exchange, 404, "No mock endpoint for " + method + " " + path);
+			}
+		} catch (final Exception e) {
+			respondError(exchange, 500, e.getMessage());
+		} finally {
+			exchange.close();
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void addAuthorizations(final HttpExchange exchange, final AuthorizationIntraCloudRequestDTO request) throws IOException {
+		if (request.getConsumerId() == null || request.getProviderIds() == null || request.getProviderIds().isEmpty() || request.getServiceDefinitionIds() == null
+				|| request.getServiceDefinitionIds().isEmpty() || request.getInterfaceIds() == null || request.getInterfaceIds().isEmpty()) {
+			respondError(exchange, 400, "Consumer, provider, service definition and interface ids are mandatory.");
+			return;
+		}
+		if (request.getProviderIds().size() > 1 && request.getServiceDefinitionIds().size() > 1) {
+			respondError(exchange, 400, "Providers and services cannot be multiple at the same time.");
+			return;
+		}
+
+		final List<AuthorizationIntraCloudResponseDTO> created = new ArrayList<>();
+		synchronized (this) {
+			for (final Long providerId : request.getProviderIds()) {
+				for (final Long serviceDefinitionId : request.getServiceDefinitionIds()) {
+					final AuthRuleKey key = new AuthRuleKey(request.getConsumerId(), providerId, serviceDefinitionId);
+					if (!authorizationIds.containsKey(key)) {
+						final AuthorizationIntraCloudResponseDTO entry = cloud.createAuthorization(nextAuthorizationId++, key, request.getInterfaceIds());
+						authorizations.put(entry.getId(), entry);
+						authorizationIds.put(key, entry.getId());
+						created.add(entry);
+					}
+				}
+			}
+		}
+
+		respond(exchange, 201, listResponse(created, created.size()));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private synchronized void removeAuthorization(final long id) {
+		final AuthorizationIntraCloudResponseDTO entry = authorizations.remove(id);
+		if (entry != null) {
+			authorizationIds.remove(keyOf(entry));
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the elements are in id order unless the query asks for the updatedAt order
+	private <T> Map<String, Object> page(final List<T> elements, final Map<String, String> query, final Function<T, String> updatedAt) {
+		List<T> sorted = elements;
+		if (ConsumerConstants.SORT_FIELD_UPDATED_AT.equals(query.get(ConsumerConstants.REQUEST_PARAM_SORT_FIELD))) {
+			sorted = new ArrayList<>(elements);
+			sorted.sort(Comparator.comparing(updatedAt, Comparator.nullsFirst(Comparator.naturalOrder())));
+			if (ConsumerConstants.SORT_DIRECTION_DESC.equals(query.get(ConsumerConstants.REQUEST_PARAM_DIRECTION))) {
+				Collections.reverse(sorted);
+			}
+		}
+
+		if (!query.containsKey(ConsumerConstants.REQUEST_PARAM_PAGE) || !query.containsKey(ConsumerConstants.REQUEST_PARAM_ITEM_PER_PAGE)) {
+			return listResponse(sorted, sorted.size());
+		}
+
+		final int page = Integer.parseInt(query.get(ConsumerConstants.REQUEST_PARAM_PAGE));
+		final int itemPerPage = Integer.parseInt(query.get(ConsumerConstants.REQUEST_PARAM_ITEM_PER_PAGE));
+		final int from = (int) Math.min((long) page * itemPerPage, sorted.size());
+		final int to = Math.min(from + itemPerPage, sorted.size());
+		return listResponse(sorted.subList(from, to), sorted.size());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private Map<String, Object> listResponse(final List<?> data, final long count) {
+		final Map<String, Object> result = new LinkedHashMap<>();
+		result.put("data", data);
+		result.put("count", count);
+		return result;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private boolean injectError(final HttpExchange exchange) throws IOException {
+		if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+			respondError(exchange, errorStatus, "Injected error.");
+			return true;
+		}
+		return false;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void simulateLatency() throws InterruptedException {
+		final int delay = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextInt(jitterMillis + 1) : 0);
+		if (delay > 0) {
+			Thread.sleep(delay);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// same structure as the error messages of the core systems
+	private void respondError(final HttpExchange exchange, final int status, final String message) throws IOException {
+		final Map<String, Object> error = new LinkedHashMap<>();
+		error.put("errorMessage", message);
+		error.put("errorCode", status);
+		error.put("exceptionType", status == 400 ? "BAD_PAYLOAD" : "GENERIC");
+		error.put("origin", "mock");
+		respond(exchange, status, error);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void respond(final HttpExchange exchange, final int status, final Object body) throws IOException {
+		final byte[] bytes = body == null ? new byte[0] : mapper.writeValueAsBytes(body);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+		if (bytes.length > 0) {
+			try (final OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes);
+			}
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private Map<String, String> parseQuery(final String rawQuery) {
+		final Map<String, String> result = new HashMap<>();
+		if (rawQuery == null || rawQuery.isEmpty()) {
+			return result;
+		}
+
+		for (final String parameter : rawQuery.split("&")) {
+			final int separator = parameter.indexOf('=');
+			if (separator > 0) {
+				result.put(URLDecoder.decode(parameter.substring(0, separator), StandardCharsets.UTF_8), URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+			}
+		}
+		return result;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private AuthRuleKey keyOf(final AuthorizationIntraCloudResponseDTO entry) {
+		return new AuthRuleKey(entry.getConsumerSystem().getId(), entry.getProviderSystem().getId(), entry.getServiceDefinition().getId());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private List<SystemResponseDTO> padSystems(final List<SystemResponseDTO> original, final int padding) {
+		final String value = "x".repeat(padding);
+		final List<SystemResponseDTO> result = new ArrayList<>(original.size());
+		for (final SystemResponseDTO system : original) {
+			final Map<String, String> metadata = system.getMetadata() == null ? new HashMap<>() : new HashMap<>(system.getMetadata());
+			metadata.put(PADDING_KEY, value);
+
+			final SystemResponseDTO copy = new SystemResponseDTO();
+			copy.setId(system.getId());
+			copy.setSystemName(system.getSystemName());
+			copy.setAddress(system.getAddress());
+			copy.setPort(system.getPort());
+			copy.setMetadata(metadata);
+			copy.setCreatedAt(TIMESTAMP);
+			copy.setUpdatedAt(system.getUpdatedAt());
+			result.add(copy);
+		}
+		return result;
+	}
+}
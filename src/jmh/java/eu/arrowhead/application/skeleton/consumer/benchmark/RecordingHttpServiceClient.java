@@ -0,0 +1,73 @@
+package eu.arrowhead.application.skeleton.consumer.benchmark;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.util.UriComponents;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import eu.arrowhead.application.skeleton.consumer.client.HttpServiceClient;
+import eu.arrowhead.common.exception.ArrowheadException;
+
+/**
+ * Plain HTTP replacement of the library's HTTP stack for the load tests: it needs neither the Spring context nor certificates.
+ * Error responses become ArrowheadExceptions with the HTTP status as error code, like in the library. Every call is recorded
+ * as "&lt;method&gt; &lt;path&gt;" (ids in the path replaced with {id}).
+ */
+public class RecordingHttpServiceClient implements HttpServiceClient {
+
+	//=================================================================================================
+	// members
+
+	private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+	private final ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+	private final LatencyRecorder recorder;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public RecordingHttpServiceClient(final LatencyRecorder recorder) {
+		this.recorder = recorder;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public <T, P> T consumeServiceHTTP(final Class<T> responseType, final HttpMethod httpMethod, final UriComponents uri, final String token, final P payload, final String... metadata) {
+		final String operation = httpMethod.name() + " " + uri.getPath().replaceAll("/\\d+$", "/{id}");
+		final long start = System.nanoTime();
+		try {
+			final HttpRequest.Builder request = HttpRequest.newBuilder(uri.toUri()).header("Accept", "application/json");
+			if (payload == null) {
+				request.method(httpMethod.name(), HttpRequest.BodyPublishers.noBody());
+			} else {
+				request.header("Content-Type", "application/json").method(httpMethod.name(), HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(payload)));
+			}
+
+			final HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+			if (response.statusCode() >= 400) {
+				throw new ArrowheadException(new String(response.body(), StandardCharsets.UTF_8), response.statusCode());
+			}
+			if (responseType == String.class) {
+				return responseType.cast(new String(response.body(), StandardCharsets.UTF_8));
+			}
+			if (response.body().length == 0) {
+				return null;
+			}
+			return mapper.readValue(response.body(), responseType);
+		} catch (final IOException e) {
+			throw new ArrowheadException(operation + " failed: " + e.getMessage(), e);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ArrowheadException(operation + " was interrupted.", e);
+		} finally {
+			recorder.record(operation, System.nanoTime() - start);
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package eu.arrowhead.application.skeleton.consumer.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import eu.arrowhead.application.skeleton.consumer.ConsumerConstants;
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+import eu.arrowhead.application.skeleton.consumer.resolver.RegistryResolver;
+
+/**
+ * Building the registry indexes and resolving every selector of a rule set (ConsumerMain.getSystemIdsByInfo).
+ * The resolver is rebuilt in every invocation, so the selector memo does not hide the lookup cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResolutionBenchmark {
+
+	//=================================================================================================
+	// members
+
+	@Param({ "1000", "40000", "200000" })
+	private int systemCount;
+
+	@Param({ "20000" })
+	private int ruleCount;
+
+	private SyntheticCloud cloud;
+	private List<AuthRule> rules;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@Setup(Level.Trial)
+	public void setUp() {
+		cloud = new SyntheticCloud(systemCount, 500);
+		rules = cloud.generateRules(ruleCount, 42);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Benchmark
+	public RegistryResolver buildIndexes() {
+		return new RegistryResolver(cloud.getSystems(), cloud.getServices(), cloud.getInterfaces());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Benchmark
+	public void buildAndResolve(final Blackhole blackhole) throws Exception {
+		final RegistryResolver resolver = new RegistryResolver(cloud.getSystems(), cloud.getServices(), cloud.getInterfaces());
+		for (final AuthRule rule : rules) {
+			blackhole.consume(resolver.getSystemIdsByInfo(rule.getConsumer()));
+			blackhole.consume(resolver.getSystemIdsByInfo(rule.getProvider()));
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// one prefix pattern per group (20 systems each), e.g. name~system-123*: the sorted name index is built once per resolver
+	@Benchmark
+	public void buildAndResolvePrefixPatterns(final Blackhole blackhole) throws Exception {
+		final RegistryResolver resolver = new RegistryResolver(cloud.getSystems(), cloud.getServices(), cloud.getInterfaces());
+		for (int i = 0; i < systemCount / SyntheticCloud.GROUP_SIZE; ++i) {
+			blackhole.consume(resolver.getSystemIdsByInfo(ConsumerConstants.NAME_PATTERN_SELECTOR + "system-" + i + "*"));
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// one two-condition metadata selector per group, e.g. group=group-123;site=site-3: bitmap intersection
+	@Benchmark
+	public void buildAndResolveMetadataConjunctions(final Blackhole blackhole) throws Exception {
+		final RegistryResolver resolver = new RegistryResolver(cloud.getSystems(), cloud.getServices(), cloud.getInterfaces());
+		for (int i = 0; i < systemCount / SyntheticCloud.GROUP_SIZE; ++i) {
+			blackhole.consume(resolver.getSystemIdsByInfo(SyntheticCloud.GROUP_KEY + "=group-" + i + ";" + SyntheticCloud.SITE_KEY + "=site-" + (i % SyntheticCloud.SITE_COUNT)));
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package eu.arrowhead.application.skeleton.consumer.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+import eu.arrowhead.application.skeleton.consumer.rule.AuthRuleReader;
+
+/**
+ * Parsing of the rules file (ConsumerMain.getRules).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuleFileBenchmark {
+
+	//=================================================================================================
+	// members
+
+	@Param({ "1000", "20000", "100000" })
+	private int ruleCount;
+
+	private File rulesFile;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		final SyntheticCloud cloud = new SyntheticCloud(40000, 500);
+		rulesFile = File.createTempFile("rules-benchmark", ".json");
+		cloud.writeRules(cloud.generateRules(ruleCount, 42), rulesFile);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		rulesFile.delete();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Benchmark
+	public List<AuthRule> readRules() throws IOException {
+		return new AuthRuleReader().readAll(rulesFile);
+	}
+}
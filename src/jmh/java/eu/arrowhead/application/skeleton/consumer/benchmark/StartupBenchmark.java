@@ -0,0 +1,142 @@
+package eu.arrowhead.application.skeleton.consumer.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup benchmark: measures the wall time of a run without rules files (the whole context starts, then the run stops at once)
+ * in separate JVMs, with the default jar and with the fast-start launcher (mvn -Pfast-start package), without and with the AppCDS archive.
+ * Every jar is started from its own directory, as in the README.
+ * The startup target is that the fast-start launcher with the archive starts in at most target_ratio times the time of the default jar
+ * (median of the runs). Arguments are key=value pairs (see the README).
+ */
+public class StartupBenchmark {
+
+	//=================================================================================================
+	// members
+
+	private static final String FAST_START_SUFFIX = "-fast-start.jar";
+	private static final String PROFILE_ARG = "-Dspring.profiles.active=fast-start";
+	private static final String ARCHIVE = "ah-auth-ruler.jsa";
+
+	private final Map<String, String> settings;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public static void main(final String[] args) throws Exception {
+		final Map<String, String> settings = new HashMap<>();
+		for (final String arg : args) {
+			final String[] parts = arg.split("=", 2);
+			if (parts.length != 2) {
+				throw new IllegalArgumentException("Invalid argument: " + arg + " (expected key=value)");
+			}
+			settings.put(parts[0].trim(), parts[1].trim());
+		}
+
+		new StartupBenchmark(settings).run();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public StartupBenchmark(final Map<String, String> settings) {
+		this.settings = settings;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void run() throws Exception {
+		final Path targetDir = Path.of(settings.getOrDefault("target_dir", "target"));
+		final Path fastStartDir = targetDir.resolve("fast-start");
+		final Path defaultJar = findJar(targetDir, false);
+		final Path fastStartJar = findJar(fastStartDir, true);
+		if (!Files.isRegularFile(fastStartJar.resolveSibling(ARCHIVE))) {
+			throw new IllegalStateException("AppCDS archive not found next to " + fastStartJar + " (build it with mvn -Pfast-start package)");
+		}
+
+		// -Xshare:on fails instead of silently running without the archive if the archive does not match the class path
+		final Map<String, List<String>> configurations = new LinkedHashMap<>();
+		configurations.put("default jar", List.of("-jar", defaultJar.getFileName().toString()));
+		configurations.put("fast-start, lazy init", List.of(PROFILE_ARG, "-jar", fastStartJar.getFileName().toString()));
+		configurations.put("fast-start, lazy init + AppCDS", List.of("-Xshare:on", "-XX:SharedArchiveFile=" + ARCHIVE, PROFILE_ARG, "-jar", fastStartJar.getFileName().toString()));
+
+		final int runs = getInt("runs", 10);
+		final Map<String, Long> medians = new LinkedHashMap<>();
+		for (final Map.Entry<String, List<String>> configuration : configurations.entrySet()) {
+			final Path directory = configuration.getKey().equals("default jar") ? defaultJar.toAbsolutePath().getParent() : fastStartJar.toAbsolutePath().getParent();
+			launch(directory, configuration.getValue()); // warm-up: file system cache
+			final List<Long> millis = new ArrayList<>(runs);
+			for (int i = 0; i < runs; ++i) {
+				millis.add(launch(directory, configuration.getValue()));
+			}
+			Collections.sort(millis);
+
+			final long median = millis.get(millis.size() / 2);
+			medians.put(configuration.getKey(), median);
+			System.out.println(String.format("%-32s min %6d ms, median %6d ms, max %6d ms", configuration.getKey(), millis.get(0), median, millis.get(millis.size() - 1)));
+		}
+
+		final double targetRatio = Double.parseDouble(settings.getOrDefault("target_ratio", "0.5"));
+		final long defaultMedian = medians.get("default jar");
+		final long fastStartMedian = medians.get("fast-start, lazy init + AppCDS");
+		final double ratio = (double) fastStartMedian / defaultMedian;
+		System.out.println(String.format("Fast-start with AppCDS: %.2f x the startup time of the default jar, target: <= %.2f x (%s)", ratio, targetRatio,
+										 ratio <= targetRatio ? "met" : "missed"));
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	// returns the wall time of the run in milliseconds; the output of the run is only shown if it fails
+	private long launch(final Path directory, final List<String> jvmArgs) throws IOException, InterruptedException {
+		final List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(jvmArgs);
+
+		final File output = File.createTempFile("startup", ".log");
+		try {
+			final long start = System.nanoTime();
+			final Process process = new ProcessBuilder(command).directory(directory.toFile()).redirectErrorStream(true).redirectOutput(output).start();
+			final int exitCode = process.waitFor();
+			final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			if (exitCode != 0) {
+				throw new IllegalStateException(String.join(" ", command) + " exited with " + exitCode + ":\n" + Files.readString(output.toPath()));
+			}
+			return millis;
+		} finally {
+			Files.deleteIfExists(output.toPath());
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private Path findJar(final Path directory, final boolean fastStart) throws IOException {
+		final String key = fastStart ? "fast_start_jar" : "jar";
+		if (settings.containsKey(key)) {
+			return Path.of(settings.get(key));
+		}
+
+		try (final DirectoryStream<Path> jars = Files.newDirectoryStream(directory, "ah-auth-ruler-*.jar")) {
+			for (final Path jar : jars) {
+				if (jar.getFileName().toString().endsWith(FAST_START_SUFFIX) == fastStart) {
+					return jar;
+				}
+			}
+		}
+		throw new IllegalStateException("No " + (fastStart ? "fast-start" : "application") + " jar found in " + directory + " (build it with mvn -Pfast-start package)");
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private int getInt(final String key, final int defaultValue) {
+		return settings.containsKey(key) ? Integer.parseInt(settings.get(key)) : defaultValue;
+	}
+}
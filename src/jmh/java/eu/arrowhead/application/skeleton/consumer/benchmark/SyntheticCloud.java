@@ -0,0 +1,191 @@
+package eu.arrowhead.application.skeleton.consumer.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import eu.arrowhead.application.skeleton.consumer.ConsumerConstants;
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudResponseDTO;
+import eu.arrowhead.application.skeleton.consumer.rule.AuthRuleKey;
+import eu.arrowhead.common.dto.shared.ServiceDefinitionResponseDTO;
+import eu.arrowhead.common.dto.shared.ServiceInterfaceResponseDTO;
+import eu.arrowhead.common.dto.shared.SystemResponseDTO;
+
+/**
+ * Deterministic synthetic local cloud: systems named system-&lt;i&gt; with a "group" metadata shared by 20 systems each and a "site" metadata,
+ * service definitions named service-&lt;i&gt; and the default interfaces.
+ */
+public final class SyntheticCloud {
+
+	//=================================================================================================
+	// members
+
+	public static final int GROUP_SIZE = 20;
+	public static final String GROUP_KEY = "group";
+	public static final String SITE_KEY = "site";
+	public static final int SITE_COUNT = 16;
+
+	private static final String TIMESTAMP = "2022-01-01 00:00:00";
+
+	private final List<SystemResponseDTO> systems;
+	private final List<ServiceDefinitionResponseDTO> services;
+	private final List<ServiceInterfaceResponseDTO> interfaces;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public SyntheticCloud(final int systemCount, final int serviceCount) {
+		this.systems = new ArrayList<>(systemCount + 1);
+		for (int i = 0; i < systemCount; ++i) {
+			systems.add(system(i + 1, "system-" + i, Map.of(GROUP_KEY, "group-" + (i / GROUP_SIZE), SITE_KEY, "site-" + (i % SITE_COUNT))));
+		}
+		systems.add(system(systemCount + 1, ConsumerConstants.AUTHORIZATION, null));
+
+		this.services = new ArrayList<>(serviceCount);
+		for (int i = 0; i < serviceCount; ++i) {
+			final ServiceDefinitionResponseDTO service = new ServiceDefinitionResponseDTO();
+			service.setId(i + 1);
+			service.setServiceDefinition("service-" + i);
+			service.setUpdatedAt(TIMESTAMP);
+			services.add(service);
+		}
+
+		this.interfaces = new ArrayList<>();
+		for (int i = 0; i < ConsumerConstants.DEFAULT_INTERFACE_NAMES.size(); ++i) {
+			final ServiceInterfaceResponseDTO interfaceElement = new ServiceInterfaceResponseDTO();
+			interfaceElement.setId(i + 1);
+			interfaceElement.setInterfaceName(ConsumerConstants.DEFAULT_INTERFACE_NAMES.get(i));
+			interfaceElement.setUpdatedAt(TIMESTAMP);
+			interfaces.add(interfaceElement);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public List<SystemResponseDTO> getSystems() {
+		return systems;
+	}
+
+	public List<ServiceDefinitionResponseDTO> getServices() {
+		return services;
+	}
+
+	public List<ServiceInterfaceResponseDTO> getInterfaces() {
+		return interfaces;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// 60% name -> name, 20% group -> name, 15% name -> group, 5% group -> group
+	public List<AuthRule> generateRules(final int ruleCount, final long seed) {
+		final Random random = new Random(seed);
+		final int systemCount = systems.size() - 1;
+		final List<AuthRule> rules = new ArrayList<>(ruleCount);
+
+		for (int i = 0; i < ruleCount; ++i) {
+			final int kind = random.nextInt(100);
+			final String consumer = kind >= 60 && kind < 80 || kind >= 95 ? groupSelector(random, systemCount) : nameSelector(random, systemCount);
+			final String provider = kind >= 80 ? groupSelector(random, systemCount) : nameSelector(random, systemCount);
+			final List<String> interfaceNames = random.nextBoolean() ? new ArrayList<>(ConsumerConstants.DEFAULT_INTERFACE_NAMES) : List.of(ConsumerConstants.INTERFACE_SECURE);
+			rules.add(new AuthRule(consumer, provider, "service-" + random.nextInt(services.size()), interfaceNames));
+		}
+
+		return rules;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void writeRules(final List<AuthRule> rules, final File file) throws IOException {
+		try (final JsonGenerator generator = new ObjectMapper().getFactory().createGenerator(file, JsonEncoding.UTF8)) {
+			generator.writeStartArray();
+			for (final AuthRule rule : rules) {
+				generator.writeStartObject();
+				generator.writeStringField("consumer", rule.getConsumer());
+				generator.writeStringField("provider", rule.getProvider());
+				generator.writeStringField("service", rule.getService());
+				generator.writeArrayFieldStart("interfaces");
+				for (final String interfaceName : rule.getInterfaces()) {
+					generator.writeString(interfaceName);
+				}
+				generator.writeEndArray();
+				generator.writeEndObject();
+			}
+			generator.writeEndArray();
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// existing entries for the given desired entries: keeps 90% unchanged, changes the interfaces of 5% and adds 5% unwanted entries
+	public List<AuthorizationIntraCloudResponseDTO> generateExistingRules(final Map<AuthRuleKey, Set<Long>> desired, final long seed) {
+		final Random random = new Random(seed);
+		final List<AuthorizationIntraCloudResponseDTO> result = new ArrayList<>(desired.size());
+		long id = 1;
+
+		for (final Map.Entry<AuthRuleKey, Set<Long>> entry : desired.entrySet()) {
+			final int kind = random.nextInt(100);
+			final AuthRuleKey key = entry.getKey();
+			if (kind < 90) {
+				result.add(createAuthorization(id++, key, entry.getValue()));
+			} else if (kind < 95) {
+				result.add(createAuthorization(id++, key, Set.of(interfaces.get(interfaces.size() - 1).getId())));
+			} else {
+				result.add(createAuthorization(id++, key, entry.getValue()));
+				result.add(createAuthorization(id++, new AuthRuleKey(key.getConsumerId(), key.getProviderId(), services.get(random.nextInt(services.size())).getId()), entry.getValue()));
+			}
+		}
+
+		return result;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public AuthorizationIntraCloudResponseDTO createAuthorization(final long id, final AuthRuleKey key, final Collection<Long> interfaceIds) {
+		final SystemResponseDTO consumer = new SystemResponseDTO();
+		consumer.setId(key.getConsumerId());
+		final SystemResponseDTO provider = new SystemResponseDTO();
+		provider.setId(key.getProviderId());
+		final ServiceDefinitionResponseDTO service = new ServiceDefinitionResponseDTO();
+		service.setId(key.getServiceDefinitionId());
+
+		final List<ServiceInterfaceResponseDTO> interfaceList = new ArrayList<>(interfaceIds.size());
+		for (final Long interfaceId : interfaceIds) {
+			final ServiceInterfaceResponseDTO interfaceElement = new ServiceInterfaceResponseDTO();
+			interfaceElement.setId(interfaceId);
+			interfaceList.add(interfaceElement);
+		}
+
+		return new AuthorizationIntraCloudResponseDTO(id, consumer, provider, service, interfaceList, TIMESTAMP, TIMESTAMP);
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private SystemResponseDTO system(final long id, final String name, final Map<String, String> metadata) {
+		final SystemResponseDTO system = new SystemResponseDTO();
+		system.setId(id);
+		system.setSystemName(name);
+		system.setAddress("localhost");
+		system.setPort(8000 + (int) (id % 1000));
+		system.setMetadata(metadata);
+		system.setUpdatedAt(TIMESTAMP);
+		return system;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private String nameSelector(final Random random, final int systemCount) {
+		return "system-" + random.nextInt(systemCount);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private String groupSelector(final Random random, final int systemCount) {
+		return GROUP_KEY + ConsumerConstants.METADATA_SCHEME_STRING + "group-" + random.nextInt((systemCount + GROUP_SIZE - 1) / GROUP_SIZE);
+	}
+}
@@ -1,5 +1,8 @@
 package eu.arrowhead.application.skeleton.consumer;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.stereotype.Component;
 
@@ -16,7 +19,16 @@ public class ConsumerApplicationInitListener extends ApplicationInitListener {
 	@Override
 	protected void customInit(final ContextRefreshedEvent event) {
 		//Checking the availability of necessary core systems
-		checkCoreSystemReachability(CoreSystem.SERVICEREGISTRY);
+		//The two checks run at the same time; both are finished (and their failures thrown) before the runner starts.
+		final CompletableFuture<Void> serviceRegistryCheck = CompletableFuture.runAsync(() -> checkCoreSystemReachability(CoreSystem.SERVICEREGISTRY));
 		checkCoreSystemReachability(CoreSystem.AUTHORIZATION);
+		try {
+			serviceRegistryCheck.join();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
 	}
 }
@@ -20,6 +20,83 @@ public final class ConsumerConstants {
 	public static final String PORT = "port";
 	public static final String PATH = "path";
 	public static final String METADATA_SCHEME_STRING = "=";
+	public static final String METADATA_CONDITION_SEPARATOR = ";";
+	public static final String NAME_PATTERN_SELECTOR = "name~";
+	public static final String REQUEST_PARAM_PAGE = "page";
+	public static final String REQUEST_PARAM_ITEM_PER_PAGE = "item_per_page";
+	public static final String REQUEST_PARAM_SORT_FIELD = "sort_field";
+	public static final String REQUEST_PARAM_DIRECTION = "direction";
+	public static final String SORT_FIELD_ID = "id";
+	public static final String SORT_DIRECTION_ASC = "ASC";
+	public static final String SORT_FIELD_UPDATED_AT = "updatedAt";
+	public static final String SORT_DIRECTION_DESC = "DESC";
+
+	public static final String RECONCILIATION_ENABLED = "reconciliation_enabled";
+	public static final String $RECONCILIATION_ENABLED_WD = "${" + RECONCILIATION_ENABLED + ":true}";
+	public static final String MAX_BATCH_SIZE = "max_batch_size";
+	public static final String $MAX_BATCH_SIZE_WD = "${" + MAX_BATCH_SIZE + ":100}";
+	public static final String APPLY_PARALLELISM = "apply_parallelism";
+	public static final String $APPLY_PARALLELISM_WD = "${" + APPLY_PARALLELISM + ":8}";
+	public static final String PAGE_SIZE = "page_size";
+	public static final String $PAGE_SIZE_WD = "${" + PAGE_SIZE + ":1000}";
+	public static final String PAGE_FETCH_PARALLELISM = "page_fetch_parallelism";
+	public static final String $PAGE_FETCH_PARALLELISM_WD = "${" + PAGE_FETCH_PARALLELISM + ":4}";
+	public static final String REGISTRY_SNAPSHOT_ENABLED = "registry_snapshot_enabled";
+	public static final String $REGISTRY_SNAPSHOT_ENABLED_WD = "${" + REGISTRY_SNAPSHOT_ENABLED + ":false}";
+	public static final String REGISTRY_SNAPSHOT_FILE = "registry_snapshot_file";
+	public static final String $REGISTRY_SNAPSHOT_FILE_WD = "${" + REGISTRY_SNAPSHOT_FILE + ":registry-snapshot.bin}";
+	public static final String WATCH_DEBOUNCE_MS = "watch_debounce_ms";
+	public static final String $WATCH_DEBOUNCE_MS_WD = "${" + WATCH_DEBOUNCE_MS + ":500}";
+	public static final String METRICS_REPORT_FILE = "metrics_report_file";
+	public static final String $METRICS_REPORT_FILE_WD = "${" + METRICS_REPORT_FILE + ":}";
+	public static final String METRICS_REPORT_FORMAT = "metrics_report_format";
+	public static final String $METRICS_REPORT_FORMAT_WD = "${" + METRICS_REPORT_FORMAT + ":json}";
+	public static final String JOURNAL_ENABLED = "journal_enabled";
+	public static final String $JOURNAL_ENABLED_WD = "${" + JOURNAL_ENABLED + ":false}";
+	public static final String JOURNAL_FILE = "journal_file";
+	public static final String $JOURNAL_FILE_WD = "${" + JOURNAL_FILE + ":operation-journal.log}";
+	public static final String JOURNAL_SYNC_BATCH_SIZE = "journal_sync_batch_size";
+	public static final String $JOURNAL_SYNC_BATCH_SIZE_WD = "${" + JOURNAL_SYNC_BATCH_SIZE + ":64}";
+	public static final String JOURNAL_SYNC_INTERVAL_MS = "journal_sync_interval_ms";
+	public static final String $JOURNAL_SYNC_INTERVAL_MS_WD = "${" + JOURNAL_SYNC_INTERVAL_MS + ":200}";
+	public static final String INCREMENTAL_ENABLED = "incremental_enabled";
+	public static final String $INCREMENTAL_ENABLED_WD = "${" + INCREMENTAL_ENABLED + ":false}";
+	public static final String INCREMENTAL_STATE_FILE = "incremental_state_file";
+	public static final String $INCREMENTAL_STATE_FILE_WD = "${" + INCREMENTAL_STATE_FILE + ":rule-expansions.bin}";
+	public static final String ASYNC_HTTP_ENABLED = "async_http_enabled";
+	public static final String $ASYNC_HTTP_ENABLED_WD = "${" + ASYNC_HTTP_ENABLED + ":false}";
+	public static final String ASYNC_HTTP_THREADS = "async_http_threads";
+	public static final String $ASYNC_HTTP_THREADS_WD = "${" + ASYNC_HTTP_THREADS + ":4}";
+	public static final String ASYNC_MAX_IN_FLIGHT = "async_max_in_flight";
+	public static final String $ASYNC_MAX_IN_FLIGHT_WD = "${" + ASYNC_MAX_IN_FLIGHT + ":256}";
+	public static final String HTTP_POOL_ENABLED = "http_pool_enabled";
+	public static final String $HTTP_POOL_ENABLED_WD = "${" + HTTP_POOL_ENABLED + ":false}";
+	public static final String HTTP_POOL_SIZE = "http_pool_size";
+	public static final String $HTTP_POOL_SIZE_WD = "${" + HTTP_POOL_SIZE + ":32}";
+	public static final String HTTP_POOL_IDLE_TIMEOUT_S = "http_pool_idle_timeout_s";
+	public static final String $HTTP_POOL_IDLE_TIMEOUT_S_WD = "${" + HTTP_POOL_IDLE_TIMEOUT_S + ":300}";
+	public static final String HTTP_PREWARM_CONNECTIONS = "http_prewarm_connections";
+	public static final String $HTTP_PREWARM_CONNECTIONS_WD = "${" + HTTP_PREWARM_CONNECTIONS + ":4}";
+	public static final String TLS_SESSION_CACHE_SIZE = "tls_session_cache_size";
+	public static final String $TLS_SESSION_CACHE_SIZE_WD = "${" + TLS_SESSION_CACHE_SIZE + ":256}";
+	public static final String TLS_SESSION_TIMEOUT_S = "tls_session_timeout_s";
+	public static final String $TLS_SESSION_TIMEOUT_S_WD = "${" + TLS_SESSION_TIMEOUT_S + ":3600}";
+	public static final String HTTP_SKIP_HOSTNAME_VERIFICATION = "http_skip_hostname_verification";
+	public static final String $HTTP_SKIP_HOSTNAME_VERIFICATION_WD = "${" + HTTP_SKIP_HOSTNAME_VERIFICATION + ":false}";
+	public static final String CLOUDS_FILE = "clouds_file";
+	public static final String $CLOUDS_FILE_WD = "${" + CLOUDS_FILE + ":}";
+	public static final String CLOUD_PARALLELISM = "cloud_parallelism";
+	public static final String $CLOUD_PARALLELISM_WD = "${" + CLOUD_PARALLELISM + ":4}";
+	public static final String SERVICE_ALLOWED_CLIENTS = "service_allowed_clients";
+	public static final String $SERVICE_ALLOWED_CLIENTS_WD = "${" + SERVICE_ALLOWED_CLIENTS + ":sysop}";
+
+	public static final String RULES_URI = "/rules";
+	public static final String WEB_APPLICATION_TYPE_SERVLET = "--spring.main.web-application-type=servlet";
+
+	public static final String OPTION_WATCH = "watch";
+	public static final String OPTION_EXPORT = "export";
+	public static final String OPTION_COLLAPSE = "collapse";
+	public static final String OPTION_SERVE = "serve";
 
 	//=================================================================================================
 	// assistant methods
@@ -1,13 +1,25 @@
 package eu.arrowhead.application.skeleton.consumer;
 
-import java.io.File;
 import java.io.IOException;
-import java.security.InvalidParameterException;
-import java.util.ArrayList;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import javax.net.ssl.SSLContext;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -18,28 +30,46 @@ import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
-import org.springframework.util.Assert;
-
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.FileSystemResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.web.util.UriComponents;
 
 import ai.aitia.arrowhead.application.library.ArrowheadService;
+import eu.arrowhead.application.skeleton.consumer.apply.AuthRuleOperations;
+import eu.arrowhead.application.skeleton.consumer.apply.AuthRuleUpdater;
+import eu.arrowhead.application.skeleton.consumer.cache.RegistrySnapshotCache;
+import eu.arrowhead.application.skeleton.consumer.cache.RuleExpansionCache;
+import eu.arrowhead.application.skeleton.consumer.client.AsyncHttpTransport;
+import eu.arrowhead.application.skeleton.consumer.client.AuthorizationClient;
+import eu.arrowhead.application.skeleton.consumer.client.HttpServiceClient;
+import eu.arrowhead.application.skeleton.consumer.client.LibraryHttpServiceClient;
+import eu.arrowhead.application.skeleton.consumer.client.PagedFetcher;
+import eu.arrowhead.application.skeleton.consumer.client.PooledHttpServiceClient;
+import eu.arrowhead.application.skeleton.consumer.client.ServiceRegistryClient;
+import eu.arrowhead.application.skeleton.consumer.cloud.CloudClients;
+import eu.arrowhead.application.skeleton.consumer.cloud.CloudTargetReader;
+import eu.arrowhead.application.skeleton.consumer.daemon.AuthRuleDaemon;
 import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
-import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudListResponseDTO;
-import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudRequestDTO;
-import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudResponseDTO;
-import eu.arrowhead.application.skeleton.consumer.data.ServiceDefinitionsListResponseDTO;
-import eu.arrowhead.application.skeleton.consumer.data.ServiceInterfacesListResponseDTO;
-import eu.arrowhead.application.skeleton.consumer.data.SystemListResponseDTO;
+import eu.arrowhead.application.skeleton.consumer.data.CloudTarget;
+import eu.arrowhead.application.skeleton.consumer.export.AuthRuleExporter;
+import eu.arrowhead.application.skeleton.consumer.export.MetadataSelectorCollapser;
+import eu.arrowhead.application.skeleton.consumer.journal.OperationJournal;
+import eu.arrowhead.application.skeleton.consumer.metrics.RunMetrics;
+import eu.arrowhead.application.skeleton.consumer.metrics.RunReportWriter;
+import eu.arrowhead.application.skeleton.consumer.resolver.RegistryLoader;
+import eu.arrowhead.application.skeleton.consumer.resolver.RegistryResolver;
+import eu.arrowhead.application.skeleton.consumer.rule.AuthorizationState;
+import eu.arrowhead.application.skeleton.consumer.rule.ExpandedRules;
+import eu.arrowhead.application.skeleton.consumer.rule.IncrementalPlan;
+import eu.arrowhead.application.skeleton.consumer.rule.IncrementalPlanner;
+import eu.arrowhead.application.skeleton.consumer.rule.MergedRules;
+import eu.arrowhead.application.skeleton.consumer.rule.RuleExpansions;
+import eu.arrowhead.application.skeleton.consumer.rule.RuleFileSet;
+import eu.arrowhead.application.skeleton.consumer.service.AuthRuleService;
 import eu.arrowhead.common.CommonConstants;
 import eu.arrowhead.common.SSLProperties;
 import eu.arrowhead.common.Utilities;
-import eu.arrowhead.common.dto.shared.ServiceDefinitionResponseDTO;
-import eu.arrowhead.common.dto.shared.ServiceInterfaceResponseDTO;
 import eu.arrowhead.common.dto.shared.SystemResponseDTO;
-import eu.arrowhead.common.exception.ArrowheadException;
 
 @SpringBootApplication
 @ComponentScan(basePackages = { CommonConstants.BASE_PACKAGE, "ai.aitia" })
@@ -54,15 +84,10 @@ public class ConsumerMain implements ApplicationRunner {
 	@Autowired
 	private SSLProperties sslProperties;
 
-	private final Logger logger = LogManager.getLogger(ConsumerMain.class);
-
-	private List<SystemResponseDTO> systems;
+	@Autowired(required = false)
+	private AuthRuleService ruleService; // only in service mode
 
-	private List<ServiceDefinitionResponseDTO> services;
-
-	private List<ServiceInterfaceResponseDTO> interfaces;
-
-	private Map<String, String> authorizationUri;
+	private final Logger logger = LogManager.getLogger(ConsumerMain.class);
 
 	@Value(CommonConstants.$SERVICEREGISTRY_ADDRESS_WD)
 	private String serviceRegistryAddress;
@@ -70,361 +95,595 @@ public class ConsumerMain implements ApplicationRunner {
 	@Value(CommonConstants.$SERVICEREGISTRY_PORT_WD)
 	private int serviceRegistryPort;
 
+	@Value(ConsumerConstants.$RECONCILIATION_ENABLED_WD)
+	private boolean reconciliationEnabled;
+
+	@Value(ConsumerConstants.$MAX_BATCH_SIZE_WD)
+	private int maxBatchSize;
+
+	@Value(ConsumerConstants.$APPLY_PARALLELISM_WD)
+	private int applyParallelism;
+
+	@Value(ConsumerConstants.$PAGE_SIZE_WD)
+	private int pageSize;
+
+	@Value(ConsumerConstants.$PAGE_FETCH_PARALLELISM_WD)
+	private int pageFetchParallelism;
+
+	@Value(ConsumerConstants.$REGISTRY_SNAPSHOT_ENABLED_WD)
+	private boolean registrySnapshotEnabled;
+
+	@Value(ConsumerConstants.$REGISTRY_SNAPSHOT_FILE_WD)
+	private String registrySnapshotFile;
+
+	@Value(ConsumerConstants.$WATCH_DEBOUNCE_MS_WD)
+	private long watchDebounceMillis;
+
+	@Value(ConsumerConstants.$METRICS_REPORT_FILE_WD)
+	private String metricsReportFile;
+
+	@Value(ConsumerConstants.$METRICS_REPORT_FORMAT_WD)
+	private String metricsReportFormat;
+
+	@Value(ConsumerConstants.$ASYNC_HTTP_ENABLED_WD)
+	private boolean asyncHttpEnabled;
+
+	@Value(ConsumerConstants.$ASYNC_HTTP_THREADS_WD)
+	private int asyncHttpThreads;
+
+	@Value(ConsumerConstants.$ASYNC_MAX_IN_FLIGHT_WD)
+	private int asyncMaxInFlight;
+
+	@Value(ConsumerConstants.$HTTP_POOL_ENABLED_WD)
+	private boolean httpPoolEnabled;
+
+	@Value(ConsumerConstants.$HTTP_POOL_SIZE_WD)
+	private int httpPoolSize;
+
+	@Value(ConsumerConstants.$HTTP_POOL_IDLE_TIMEOUT_S_WD)
+	private long httpPoolIdleTimeoutSeconds;
+
+	@Value(ConsumerConstants.$HTTP_PREWARM_CONNECTIONS_WD)
+	private int httpPrewarmConnections;
+
+	@Value(ConsumerConstants.$TLS_SESSION_CACHE_SIZE_WD)
+	private int tlsSessionCacheSize;
+
+	@Value(ConsumerConstants.$TLS_SESSION_TIMEOUT_S_WD)
+	private int tlsSessionTimeoutSeconds;
+
+	@Value(ConsumerConstants.$HTTP_SKIP_HOSTNAME_VERIFICATION_WD)
+	private boolean httpSkipHostnameVerification;
+
+	@Value(ConsumerConstants.$CLOUDS_FILE_WD)
+	private String cloudsFile;
+
+	@Value(ConsumerConstants.$CLOUD_PARALLELISM_WD)
+	private int cloudParallelism;
+
+	@Value(ConsumerConstants.$JOURNAL_ENABLED_WD)
+	private boolean journalEnabled;
+
+	@Value(ConsumerConstants.$JOURNAL_FILE_WD)
+	private String journalFile;
+
+	@Value(ConsumerConstants.$JOURNAL_SYNC_BATCH_SIZE_WD)
+	private int journalSyncBatchSize;
+
+	@Value(ConsumerConstants.$JOURNAL_SYNC_INTERVAL_MS_WD)
+	private long journalSyncIntervalMillis;
+
+	@Value(ConsumerConstants.$INCREMENTAL_ENABLED_WD)
+	private boolean incrementalEnabled;
+
+	@Value(ConsumerConstants.$INCREMENTAL_STATE_FILE_WD)
+	private String incrementalStateFile;
+
 	// =================================================================================================
 	// methods
 
 	// ------------------------------------------------------------------------------------------------
 	public static void main(final String[] args) {
+		// the service mode needs the web server, which is disabled in application.properties (command line arguments take precedence)
+		if (Arrays.asList(args).contains("--" + ConsumerConstants.OPTION_SERVE)) {
+			final String[] serviceArgs = Arrays.copyOf(args, args.length + 1);
+			serviceArgs[args.length] = ConsumerConstants.WEB_APPLICATION_TYPE_SERVLET;
+			SpringApplication.run(ConsumerMain.class, serviceArgs);
+			return;
+		}
+
 		SpringApplication.run(ConsumerMain.class, args);
 	}
 
 	// -------------------------------------------------------------------------------------------------
 	@Override
 	public void run(final ApplicationArguments args) throws Exception {
+		runCommand(args);
 
-		if (args.getSourceArgs().length != 1) {
-			logger.error("You must specify exactly one path! (E.g.: ../example.json)");
-			return;
+		// in service mode the command returns without starting the service if the initial update cannot be planned: failing the runner closes
+		// the context, so the web server does not keep running without the rules service (a service that ran and was stopped, e.g. by the end
+		// of the watch loop, is a clean shutdown)
+		if (args.containsOption(ConsumerConstants.OPTION_SERVE) && (ruleService == null || !ruleService.isStarted())) {
+			throw new IllegalStateException("The service mode could not be started!");
 		}
+	}
 
-		final List<AuthRule> newRules = getRules(args.getSourceArgs()[0]);
+	// =================================================================================================
+	// assistant methods
 
-		if (newRules == null) {
-			logger.error("Reading the file was unsuccessful!");
+	// -------------------------------------------------------------------------------------------------
+	private void runCommand(final ApplicationArguments args) throws Exception {
+		final boolean multiCloud = cloudsFile != null && !cloudsFile.isBlank();
+
+		if (args.containsOption(ConsumerConstants.OPTION_EXPORT)) {
+			final List<String> exportFile = args.getOptionValues(ConsumerConstants.OPTION_EXPORT);
+			if (exportFile.size() != 1 || exportFile.get(0).isBlank()) {
+				logger.error("You must specify the file to export the authorization rules to! (E.g.: --" + ConsumerConstants.OPTION_EXPORT + "=current-rules.json)");
+				return;
+			}
+			if (multiCloud) {
+				logger.error("Exporting the authorization rules cannot be combined with " + ConsumerConstants.CLOUDS_FILE + "!");
+				return;
+			}
+			exportAuthRules(Path.of(exportFile.get(0)), args.containsOption(ConsumerConstants.OPTION_COLLAPSE));
 			return;
 		}
 
-		try {
-			systems = getSystems();
-			services = getServices();
-			interfaces = getInterfaces();
-			authorizationUri = getAuthorizationUri();
-		} catch (final Exception e) {
-			logger.error("Updating the authorization rules was unsuccessful, reason: " + e.getMessage());
+		if (args.getNonOptionArgs().isEmpty() && !multiCloud) {
+			logger.error("You must specify at least one rules file, directory or glob pattern! (E.g.: ../example.json)");
 			return;
 		}
 
-		updateAuthRules(newRules);
-	}
-
-	// =================================================================================================
-	// assistant methods
-
-	// -------------------------------------------------------------------------------------------------
-	private List<AuthRule> getRules(final String filename) {
-
-		JsonNode newRulesJson;
+		final RuleFileSet ruleFiles;
 		try {
-			newRulesJson = new ObjectMapper().readTree(new File(filename));
+			ruleFiles = args.getNonOptionArgs().isEmpty() ? null : RuleFileSet.resolve(args.getNonOptionArgs());
 		} catch (final IOException e) {
 			logger.error(e.getMessage());
-			return null;
+			return;
 		}
-		final List<AuthRule> rules = new ArrayList<>();
 
-		for (final JsonNode rule : newRulesJson) {
-			try {
-				final AuthRule newRule = Utilities.fromJson(rule.toString(), AuthRule.class);
-				// Setting the defaults if no interfaces are given
-				if (newRule.getInterfaces().size() == 0) {
-					newRule.setInterfaces(new ArrayList<String>(ConsumerConstants.DEFAULT_INTERFACE_NAMES));
-				}
-				rules.add(newRule);
-			} catch (final Exception e) {
-				logger.error("Could not create authorization rule (invalid json format): " + rule + ", reason: " + e.getMessage());
-				return null;
+		final boolean watch = args.containsOption(ConsumerConstants.OPTION_WATCH);
+		final boolean serve = args.containsOption(ConsumerConstants.OPTION_SERVE);
+		if (serve && (ruleService == null || !sslProperties.isSslEnabled())) {
+			logger.error("The service mode requires the web server with mutual TLS (" + CommonConstants.SERVER_SSL_ENABLED + "=true)!");
+			return;
+		}
+
+		if (multiCloud) {
+			if (watch || serve) {
+				logger.error("Watch and service modes cannot be combined with " + ConsumerConstants.CLOUDS_FILE + "!");
+				return;
 			}
+			updateClouds(ruleFiles);
+			return;
 		}
-		return rules;
-	}
 
-	// -------------------------------------------------------------------------------------------------
-	private void updateAuthRules(final List<AuthRule> newRules) {
-		if (deleteRules(newRules)) {
+		final CloudTarget cloud = new CloudTarget(null, serviceRegistryAddress, serviceRegistryPort);
+		final CloudClients cloudClients;
+		try {
+			cloudClients = createClients(cloud);
+		} catch (final GeneralSecurityException | IOException e) {
+			logger.error("The HTTP client cannot be created, reason: " + e.getMessage());
+			return;
+		}
+
+		try (final CloudClients clients = cloudClients) {
+			final RunMetrics metrics = new RunMetrics();
+			final AuthRuleDaemon daemon;
+
+			// the report of the run is written even if the run stops early
 			try {
-				addRules(newRules);
-			} catch (final Exception e) {
+				daemon = updateCloud(cloud, ruleFiles, ruleFiles::readAll, clients, metrics, watch || serve);
+			} finally {
+				writeReport(metrics);
+			}
+
+			if (daemon == null) {
 				return;
 			}
+
+			// in service mode with watch the updates of both sources are applied one by one
+			daemon.start();
+			if (serve) {
+				ruleService.attach(daemon);
+			}
+			if (watch) {
+				daemon.watch(ruleFiles, watchDebounceMillis);
+			} else {
+				ruleService.awaitStop();
+			}
 		}
 	}
 
 	// -------------------------------------------------------------------------------------------------
-	//returns true if the rules were successfully deleted, else returns false
-	private boolean deleteRules(final List<AuthRule> rules) {
-		List<Long> ruleIdsToDelete = new ArrayList<Long>();
+	// returns the daemon that keeps the cloud up to date if keepState is true (watch or service mode) and the update could be planned, null otherwise
+	private AuthRuleDaemon updateCloud(final CloudTarget cloud, final RuleFileSet ruleFiles, final RunMetrics.TimedAction<MergedRules, IOException> rulesReader, final CloudClients clients,
+									   final RunMetrics metrics, final boolean keepState) throws Exception {
+		final PagedFetcher pagedFetcher = new PagedFetcher(pageSize, pageFetchParallelism);
+		final ServiceRegistryClient serviceRegistryClient = new ServiceRegistryClient(clients.getHttpService(), pagedFetcher, metrics, clients.getAsyncTransport(), getScheme(),
+																					  cloud.getSrAddress(), cloud.getSrPort());
+		final RegistrySnapshotCache snapshotCache = registrySnapshotEnabled ? new RegistrySnapshotCache(Path.of(getCloudFile(registrySnapshotFile, cloud))) : null;
+
+		// the connections to the Authorization system are opened while the rest of the registry data is still loading
+		final AsyncHttpTransport httpTransport = clients.getHttpTransport();
+		final Consumer<SystemResponseDTO> prewarmer = httpTransport != null && httpPrewarmConnections > 0 ? system -> httpTransport.warmUp(createEchoURI(system), httpPrewarmConnections) : null;
+		final RegistryLoader registryLoader = new RegistryLoader(serviceRegistryClient, snapshotCache, clients.getFetchPool(), prewarmer);
+
+		// the registry is loaded while the rules files are being parsed
+		final CompletableFuture<RegistryResolver> registryFuture = CompletableFuture.supplyAsync(() -> metrics.timePhase(RunMetrics.PHASE_REGISTRY_FETCH, registryLoader::load),
+																								 clients.getFetchPool());
+
+		final List<AuthRule> newRules = getRules(rulesReader, metrics);
+		if (newRules == null) {
+			logger.error("Reading the rules files was unsuccessful!");
+			metrics.setSuccess(false);
+			return null;
+		}
+
+		final AuthRuleUpdater updater;
 		try {
-			ruleIdsToDelete = getRuleIdsToDelete(getAuthorizationRules(), getSystemIdsToDelete(rules));
+			final RegistryResolver resolver = registryFuture.join();
+			final AuthorizationClient authorizationClient = new AuthorizationClient(clients.getHttpService(), pagedFetcher, metrics, clients.getAsyncTransport(),
+																					getAuthorizationUri(resolver.getAuthorizationSystem()));
+			updater = new AuthRuleUpdater(resolver, authorizationClient, maxBatchSize, applyParallelism, asyncMaxInFlight);
+		} catch (final CompletionException e) {
+			logger.error("Updating the authorization rules was unsuccessful, reason: " + e.getCause().getMessage());
+			metrics.setSuccess(false);
+			return null;
 		} catch (final Exception e) {
-			logger.error("Finding the authorization rules to delete was unsuccessful. Reason: " + e.getMessage());
-			return false;
+			logger.error("Updating the authorization rules was unsuccessful, reason: " + e.getMessage());
+			metrics.setSuccess(false);
+			return null;
 		}
 
-		for (final Long id : ruleIdsToDelete) {
-			logger.debug("Removing authorization rule with id: " + id);
-			final String response = arrowheadService.consumeServiceHTTP(String.class, HttpMethod.DELETE,
-					Utilities.createURI(authorizationUri.get(ConsumerConstants.SCHEME), authorizationUri.get(ConsumerConstants.HOST),
-							Integer.parseInt(authorizationUri.get(ConsumerConstants.PORT)), authorizationUri.get(ConsumerConstants.PATH)
-									+ ConsumerConstants.OP_AUTH_INTRA_CLOUD + "/" + Long.toString(id)),
-					null, null);
-			logger.debug("Http DELETE response: " + response);
+		final CloudUpdate update = updateAuthRules(updater, newRules, ruleFiles, cloud, metrics);
+		if (update == null || !keepState) {
+			return null;
 		}
-		return true;
+		return new AuthRuleDaemon(updater, update.state, newRules, getConsumerIds(update, updater, newRules), serviceRegistryClient, registryLoader, createExpansionCache(cloud));
 	}
 
 	// -------------------------------------------------------------------------------------------------
-	private void addRules(final List<AuthRule> rules) {
-
-		final List<AuthorizationIntraCloudRequestDTO> rulesToAdd = createDTOListFromAuthRules(rules);
-		for (final AuthorizationIntraCloudRequestDTO ruleToAdd : rulesToAdd) {
-			addSingleRule(ruleToAdd);
+	// the pages of the authorization entries are fetched one by one, so the rules are written in the order of the entry ids
+	private void exportAuthRules(final Path file, final boolean collapse) {
+		final CloudTarget cloud = new CloudTarget(null, serviceRegistryAddress, serviceRegistryPort);
+		try (final CloudClients clients = createClients(cloud)) {
+			final RunMetrics metrics = new RunMetrics();
+			final ServiceRegistryClient serviceRegistryClient = new ServiceRegistryClient(clients.getHttpService(), new PagedFetcher(pageSize, pageFetchParallelism), metrics,
+																						  clients.getAsyncTransport(), getScheme(), cloud.getSrAddress(), cloud.getSrPort());
+			final RegistrySnapshotCache snapshotCache = registrySnapshotEnabled ? new RegistrySnapshotCache(Path.of(registrySnapshotFile)) : null;
+			final RegistryResolver resolver = new RegistryLoader(serviceRegistryClient, snapshotCache, clients.getFetchPool()).load();
+
+			final AuthorizationClient authorizationClient = new AuthorizationClient(clients.getHttpService(), new PagedFetcher(pageSize, 1), metrics,
+																					getAuthorizationUri(resolver.getAuthorizationSystem()));
+			final AuthRuleExporter exporter = collapse ? new AuthRuleExporter(authorizationClient, resolver, new MetadataSelectorCollapser(resolver))
+													  : new AuthRuleExporter(authorizationClient, resolver);
+			final long count = exporter.export(file);
+			logger.info(count + " authorization rule(s) exported to " + file + ".");
+		} catch (final Exception e) {
+			logger.error("Exporting the authorization rules was unsuccessful, reason: " + e.getMessage());
 		}
 	}
 
 	// -------------------------------------------------------------------------------------------------
-	private List<AuthorizationIntraCloudRequestDTO> createDTOListFromAuthRules(final List<AuthRule> rules) {
-
-		final List<AuthorizationIntraCloudRequestDTO> dtoList = new ArrayList<>();
-
-		List<Long> consumerIdList; //multiple consumerid can match one auth rule's systeminfo
-		List<Long> providerIdList; //multiple providerid can match one auth rule's systeminfo
-
-		List<Long> serviceDefinitionId; //contains one element, but must be a list because of the DTO
-		List<Long> interfaceIds;
-
-		for (int i = 0; i < rules.size(); i++) {
-
-			consumerIdList = new ArrayList<>();
-			providerIdList = new ArrayList<>();
-			serviceDefinitionId = new ArrayList<>(1);
-			interfaceIds = new ArrayList<>();
-
-			try {
-				consumerIdList = getSystemIdsByInfo(rules.get(i).getConsumer());
-				providerIdList = getSystemIdsByInfo(rules.get(i).getProvider());
-
-				serviceDefinitionId.add(serviceDefinitionToId(rules.get(i).getService()));
+	// every cloud of the clouds file is updated by its own thread with its own clients, so the failure of a cloud does not stop the others;
+	// the results are summarized when every cloud is done
+	private void updateClouds(final RuleFileSet defaultRuleFiles) {
+		final List<CloudTarget> clouds;
+		try {
+			clouds = new CloudTargetReader().readAll(Path.of(cloudsFile));
+		} catch (final IOException e) {
+			logger.error(e.getMessage());
+			return;
+		}
 
-				for (final String interfaceName : rules.get(i).getInterfaces()) {
-					interfaceIds.add(interfaceNameToId(interfaceName));
+		for (final CloudTarget cloud : clouds) {
+			if (cloud.getRules() == null && defaultRuleFiles == null) {
+				logger.error("No rules are given for cloud " + cloud.getName() + ", define them in " + cloudsFile + " or give the rules files on the command line!");
+				return;
+			}
+		}
 
-				}
+		// the rules files shared by multiple clouds are only parsed once
+		final Map<List<Path>, CompletableFuture<MergedRules>> parsedRules = new ConcurrentHashMap<>();
+		final Map<String, RunMetrics> results = new LinkedHashMap<>();
+		final ExecutorService cloudPool = Executors.newFixedThreadPool(Math.max(1, Math.min(cloudParallelism, clouds.size())));
+		try {
+			final Map<String, CompletableFuture<RunMetrics>> futures = new LinkedHashMap<>();
+			for (final CloudTarget cloud : clouds) {
+				futures.put(cloud.getName(), CompletableFuture.supplyAsync(() -> updateCloudIsolated(cloud, defaultRuleFiles, parsedRules), cloudPool));
+			}
+			futures.forEach((name, future) -> results.put(name, future.join()));
+		} finally {
+			cloudPool.shutdownNow();
+		}
 
-				for (final Long consumerId : consumerIdList) {
-					for (final Long providerId : providerIdList) {
-						dtoList.add(new AuthorizationIntraCloudRequestDTO(consumerId, Arrays.asList(providerId), serviceDefinitionId,
-								interfaceIds));
-					}
-				}
-			} catch (final Exception e) {
-				logger.error("Could not create authorization rule: " + rules.get(i).toString() + ", reason: "
-						+ e.getMessage());
+		writeReport(results);
+
+		int failed = 0;
+		for (final Map.Entry<String, RunMetrics> entry : results.entrySet()) {
+			final Map<String, Long> counters = entry.getValue().getCounters();
+			final String result = entry.getKey() + ": " + counters.getOrDefault(RunMetrics.COUNTER_AUTHORIZATIONS_DELETED, 0L) + " authorization(s) deleted, "
+								  + counters.getOrDefault(RunMetrics.COUNTER_AUTHORIZATIONS_ADDED, 0L) + " added";
+			if (entry.getValue().isSuccess()) {
+				logger.info(result);
+			} else {
+				logger.error(result + ", FAILED");
+				++failed;
 			}
 		}
-		return dtoList;
 
+		if (failed > 0) {
+			logger.error(failed + " of " + clouds.size() + " cloud(s) could not be updated completely.");
+		} else {
+			logger.info("All " + clouds.size() + " cloud(s) updated successfully.");
+		}
 	}
 
 	// -------------------------------------------------------------------------------------------------
-	private void addSingleRule(final AuthorizationIntraCloudRequestDTO ruleToAdd) {
+	// never throws: any problem of the cloud (unreadable stores, unreachable Service Registry...) only marks its run unsuccessful
+	private RunMetrics updateCloudIsolated(final CloudTarget cloud, final RuleFileSet defaultRuleFiles, final Map<List<Path>, CompletableFuture<MergedRules>> parsedRules) {
+		Thread.currentThread().setName("cloud-" + cloud.getName()); // the thread name appears in the log messages of the cloud
+		logger.info("Updating cloud " + cloud + "...");
 
-		logger.debug("Sending the POST request for the following authorization rule: " + ruleToAdd.toString());
-		AuthorizationIntraCloudListResponseDTO response = null;
+		final RunMetrics metrics = new RunMetrics();
 		try {
-			response = arrowheadService.consumeServiceHTTP(
-					AuthorizationIntraCloudListResponseDTO.class, HttpMethod.POST,
-					Utilities.createURI(authorizationUri.get(ConsumerConstants.SCHEME), authorizationUri.get(ConsumerConstants.HOST),
-							Integer.parseInt(authorizationUri.get(ConsumerConstants.PORT)),
-							authorizationUri.get(ConsumerConstants.PATH) + ConsumerConstants.OP_AUTH_INTRA_CLOUD),
-					null, ruleToAdd);
-		} catch (final ArrowheadException ae) {
-			if (ae.getErrorCode() == HttpStatus.BAD_REQUEST.value()) {
-				logger.error("Error 400 occured while applying authorization rule: " + ruleToAdd.toString() + ", reason: " + ae.getMessage());
-				return;
+			final RuleFileSet ruleFiles = cloud.getRules() == null ? defaultRuleFiles : RuleFileSet.resolve(cloud.getRules());
+			try (final CloudClients clients = createClients(cloud)) {
+				updateCloud(cloud, ruleFiles, () -> readShared(ruleFiles, parsedRules), clients, metrics, false);
 			}
-			if (ae.getErrorCode() == HttpStatus.INTERNAL_SERVER_ERROR.value() || ae.getErrorCode() == HttpStatus.UNAUTHORIZED.value()) {
-				logger.error("Error " + ae.getErrorCode() + " occured while applying authorization rule: " + ruleToAdd.toString() + ", reason: " + ae.getMessage());
-				throw ae;
-			}
-		}
-		if (response == null) {
-			logger.error("Could not apply the following authorization rule: " + ruleToAdd.toString());
-		} else {
-			logger.debug("Successfully applied rule with id: " + response.getData().getFirst().getId());
+		} catch (final Exception e) {
+			logger.error("Updating cloud " + cloud.getName() + " was unsuccessful, reason: " + e.getMessage());
+			metrics.setSuccess(false);
 		}
+		return metrics;
 	}
 
 	// -------------------------------------------------------------------------------------------------
-	private List<Long> getSystemIdsToDelete(final List<AuthRule> rules) {
-
-		final List<Long> result = new ArrayList<>();
-
-		for (final AuthRule rule : rules) {
+	// the first cloud that needs the rules files parses them, the other clouds with the same files wait for its result
+	private MergedRules readShared(final RuleFileSet ruleFiles, final Map<List<Path>, CompletableFuture<MergedRules>> parsedRules) throws IOException {
+		final CompletableFuture<MergedRules> parsing = new CompletableFuture<>();
+		final CompletableFuture<MergedRules> parsed = parsedRules.putIfAbsent(ruleFiles.getFiles(), parsing);
+		if (parsed == null) {
 			try {
-				final List<Long> ids = getSystemIdsByInfo(rule.getConsumer());
-				for (final Long id : ids) {
-					if (!result.contains(id)) {
-						result.add(id);
-					}
-				}
-
-			} catch (final Exception e) {
-				logger.error(e);
+				parsing.complete(ruleFiles.readAll());
+			} catch (final IOException | RuntimeException e) {
+				parsing.completeExceptionally(e);
 			}
-
 		}
 
-		return result;
+		try {
+			return (parsed == null ? parsing : parsed).join();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
 	}
 
 	// -------------------------------------------------------------------------------------------------
-	// the system string can be systemname or metadata
-	// (in case it is metadata, it must contain '=')
-	private List<Long> getSystemIdsByInfo(final String systemInfo) throws Exception {
-
-		Assert.notNull(this.systems, "The list of possible systems is empty!");
+	// the files are parsed in parallel and merged, the duplicate rules are dropped
+	private List<AuthRule> getRules(final RunMetrics.TimedAction<MergedRules, IOException> rulesReader, final RunMetrics metrics) {
+		try {
+			final MergedRules merged = metrics.timePhase(RunMetrics.PHASE_PARSE, rulesReader);
+			metrics.increment(RunMetrics.COUNTER_RULES_PARSED, merged.getParsedCount());
+			metrics.increment(RunMetrics.COUNTER_RULES_DUPLICATE, merged.getDuplicateCount());
+			return merged.getRules();
+		} catch (final IOException e) {
+			logger.error(e.getMessage());
+			return null;
+		}
+	}
 
-		final String systemInfoFormatted = systemInfo.trim();
+	// -------------------------------------------------------------------------------------------------
+	// returns the authorization state after the update or null if the update could not be planned
+	// if the journal shows that the previous run of the same rules files was interrupted (against the same registry data), only its outstanding operations are applied
+	// in incremental mode only the rules changed since the last successful run (and their consumers) are resolved and reconciled
+	private CloudUpdate updateAuthRules(final AuthRuleUpdater updater, final List<AuthRule> newRules, final RuleFileSet ruleFiles, final CloudTarget cloud, final RunMetrics metrics) {
+		final String cloudJournalFile = getCloudFile(journalFile, cloud);
+		final OperationJournal journal = journalEnabled ? new OperationJournal(Path.of(cloudJournalFile), journalSyncBatchSize, journalSyncIntervalMillis) : null;
+		final String rulesHash = journal == null ? null : getRulesHash(ruleFiles);
+
+		final RuleExpansionCache expansionCache = createExpansionCache(cloud);
+		final AtomicReference<RuleExpansions> expansions = new AtomicReference<>();
+		final AtomicReference<ExpandedRules> expandedRules = new AtomicReference<>();
+
+		final AuthorizationState state;
+		final String registryHash;
+		final AuthRuleOperations operations;
+		try {
+			state = metrics.timePhase(RunMetrics.PHASE_RULE_FETCH, updater::fetchState);
+			registryHash = rulesHash == null ? null : updater.getResolver().getContentHash();
+			final AuthRuleOperations outstanding = rulesHash == null ? null : loadOutstanding(journal, rulesHash, registryHash, cloudJournalFile);
+			if (outstanding != null) {
+				logger.info("Resuming the interrupted run of the same rules files (" + outstanding.toString() + ").");
+				operations = outstanding;
+			} else {
+				operations = metrics.timePhase(RunMetrics.PHASE_RESOLUTION, () -> {
+					if (expansionCache != null) {
+						final IncrementalPlan plan = new IncrementalPlanner(updater.getResolver()).plan(newRules, expansionCache.load());
+						metrics.increment(RunMetrics.COUNTER_RULES_CHANGED, plan.getChangedCount());
+						metrics.increment(RunMetrics.COUNTER_RULES_UNCHANGED, plan.getUnchangedCount());
+						metrics.increment(RunMetrics.COUNTER_RULES_REMOVED, plan.getRemovedCount());
+						metrics.increment(RunMetrics.COUNTER_TUPLES_DEDUPLICATED, plan.getDesired().getDuplicateTupleCount());
+						expansions.set(plan.getExpansions());
+						return updater.planReconciliation(plan.getDesired(), Set.of(), state);
+					}
 
-		final List<Long> result = new ArrayList<>();
+					final ExpandedRules desired = updater.expand(newRules);
+					expandedRules.set(desired);
+					metrics.increment(RunMetrics.COUNTER_TUPLES_DEDUPLICATED, desired.getDuplicateTupleCount());
+					return reconciliationEnabled ? updater.planReconciliation(desired, Set.of(), state) : updater.planReplacement(newRules, desired, state);
+				});
+			}
+		} catch (final Exception e) {
+			logger.error("Finding the authorization rules to update was unsuccessful. Reason: " + e.getMessage());
+			metrics.setSuccess(false);
+			return null;
+		}
 
-		//case: systeminfo is metadata
-		if (systemInfoFormatted.contains("=")) {
-			final String[] metadata = systemInfoFormatted.split(ConsumerConstants.METADATA_SCHEME_STRING);
+		final OperationJournal.Recorder recorder = rulesHash == null ? null : beginJournal(journal, rulesHash, registryHash, operations);
+		final boolean success = metrics.timePhase(RunMetrics.PHASE_APPLY, () -> updater.apply(operations, state, recorder));
+		metrics.setSuccess(success);
 
-			if (metadata.length != 2) {
-				throw new IllegalArgumentException("System metadata is in invalid format!");
-			}
-			final String key = metadata[0].trim();
-			final String value = metadata[1].trim();
-			for (final SystemResponseDTO system : systems) {
-				if (system.getMetadata() != null && system.getMetadata().containsKey(key)
-						&& system.getMetadata().get(key).equals(value)) {
-					result.add(system.getId());
-				}
-			}
-			//case: systeminfo is systemname
-		} else {
-			for (final SystemResponseDTO system : systems) {
-				if (system.getSystemName().equals(systemInfoFormatted)) {
-					result.add(system.getId());
-				}
+		if (recorder != null) {
+			if (success) {
+				recorder.finish();
+			} else {
+				recorder.close();
+				logger.info("The outstanding operations are kept in " + cloudJournalFile + " and applied by the next run of the same rules files.");
 			}
 		}
 
-		if (result.size() == 0) {
-			throw new Exception("Could not find id for system with info: " + systemInfoFormatted);
+		if (success && expansions.get() != null) {
+			saveExpansions(expansionCache, expansions.get());
 		}
-		return result;
+		return new CloudUpdate(state, expandedRules.get(), expansions.get());
 	}
 
 	// -------------------------------------------------------------------------------------------------
-	private long interfaceNameToId(final String interfaceName) throws Exception {
+	// the consumers of the rules are taken from the expansions of the run; a resumed run has none, so its rules are expanded again
+	private Set<Long> getConsumerIds(final CloudUpdate update, final AuthRuleUpdater updater, final List<AuthRule> rules) throws Exception {
+		if (update.expandedRules != null) {
+			return update.expandedRules.getConsumerIds();
+		}
+		if (update.expansions != null) {
+			final Set<Long> result = new LinkedHashSet<>();
+			for (final ExpandedRules expansion : update.expansions.getExpansionsByRuleHash().values()) {
+				result.addAll(expansion.getConsumerIds());
+			}
+			return result;
+		}
+		return updater.expand(rules).getConsumerIds();
+	}
 
-		Assert.notNull(this.interfaces, "The list of possible interfaces is empty!");
+	// -------------------------------------------------------------------------------------------------
+	// null if the incremental runs are disabled
+	private RuleExpansionCache createExpansionCache(final CloudTarget cloud) {
+		return incrementalEnabled && reconciliationEnabled ? new RuleExpansionCache(Path.of(getCloudFile(incrementalStateFile, cloud))) : null;
+	}
 
-		final String interfaceNameFormatted = interfaceName.trim();
+	// -------------------------------------------------------------------------------------------------
+	// the expansions are only usable with a known registry stamp; without them the next run is simply a full one
+	private void saveExpansions(final RuleExpansionCache expansionCache, final RuleExpansions expansions) {
+		if (expansions.getRegistryStamp() == null) {
+			logger.debug("Rule expansions not saved, the registry data has no stamp (is the registry snapshot enabled?).");
+			return;
+		}
 
-		for (final ServiceInterfaceResponseDTO interfaceElement : this.interfaces) {
-			if (interfaceElement.getInterfaceName().equals(interfaceNameFormatted)) {
-				return interfaceElement.getId();
-			}
+		try {
+			expansionCache.save(expansions);
+		} catch (final IOException e) {
+			logger.error("Could not save the rule expansions, the next run will be a full one. Reason: " + e.getMessage());
 		}
-		throw new Exception("Could not find id for interface with name: " + interfaceNameFormatted);
 	}
 
 	// -------------------------------------------------------------------------------------------------
-	private long serviceDefinitionToId(final String serviceDefinition) throws Exception {
-
-		Assert.notNull(this.services, "The list of possible services is empty!");
+	// a journal problem never stops the update itself, the run is just not resumable
+	private String getRulesHash(final RuleFileSet ruleFiles) {
+		try {
+			return OperationJournal.hash(ruleFiles.getFiles());
+		} catch (final IOException e) {
+			logger.error("Operation journal disabled, the rules files cannot be hashed: " + e.getMessage());
+			return null;
+		}
+	}
 
-		final String serviceDefinitionFormatted = serviceDefinition.trim();
+	// -------------------------------------------------------------------------------------------------
+	private AuthRuleOperations loadOutstanding(final OperationJournal journal, final String rulesHash, final String registryHash, final String journalFile) {
+		try {
+			return journal.loadOutstanding(rulesHash, registryHash);
+		} catch (final IOException e) {
+			logger.error("Ignoring the unreadable operation journal " + journalFile + ", reason: " + e.getMessage());
+			return null;
+		}
+	}
 
-		for (final ServiceDefinitionResponseDTO service : this.services) {
-			if (service.getServiceDefinition().equals(serviceDefinitionFormatted)) {
-				return service.getId();
-			}
+	// -------------------------------------------------------------------------------------------------
+	private OperationJournal.Recorder beginJournal(final OperationJournal journal, final String rulesHash, final String registryHash, final AuthRuleOperations operations) {
+		try {
+			return journal.begin(rulesHash, registryHash, operations);
+		} catch (final IOException e) {
+			logger.error("Operation journal disabled, it cannot be written: " + e.getMessage());
+			return null;
 		}
-		throw new Exception("Could not find id for service definition with name: " + serviceDefinitionFormatted);
 	}
 
 	// -------------------------------------------------------------------------------------------------
-	private List<Long> getRuleIdsToDelete(final List<AuthorizationIntraCloudResponseDTO> rules, final List<Long> systemIds) {
+	private void writeReport(final RunMetrics metrics) {
+		writeReport(Collections.singletonMap(null, metrics));
+	}
 
-		final List<Long> result = new ArrayList<>();
+	// -------------------------------------------------------------------------------------------------
+	// cloud name -> metrics of its run (the name is null in single-cloud mode)
+	private void writeReport(final Map<String, RunMetrics> metricsByCloud) {
+		if (metricsReportFile == null || metricsReportFile.isBlank()) {
+			return;
+		}
 
-		for (final AuthorizationIntraCloudResponseDTO rule : rules) {
-			for (final Long id : systemIds) {
-				if (rule.getConsumerSystem().getId() == id) {
-					result.add((rule.getId()));
-				}
-			}
+		try {
+			new RunReportWriter(Path.of(metricsReportFile), metricsReportFormat).write(metricsByCloud);
+			logger.debug("Metrics report written to " + metricsReportFile);
+		} catch (final IOException | IllegalArgumentException e) {
+			logger.error("Could not write the metrics report, reason: " + e.getMessage());
 		}
-		return result;
 	}
 
 	// -------------------------------------------------------------------------------------------------
-	private List<SystemResponseDTO> getSystems() {
-		logger.debug("Get systems request started...");
-		final SystemListResponseDTO response = arrowheadService.consumeServiceHTTP(SystemListResponseDTO.class,
-				HttpMethod.GET,
-				Utilities.createURI(getScheme(),
-						serviceRegistryAddress,
-						serviceRegistryPort,
-						CommonConstants.SERVICEREGISTRY_URI + ConsumerConstants.QUERY_GET_SYSTEMS),
-				null, null);
-		return response.getData();
+	// the tool's own HTTP client serves the non-blocking calls and, with the connection pool enabled, the blocking ones too
+	// a cloud with its own stores needs the tool's client for the blocking calls as well, as the library's client can only use the stores of application.properties
+	private CloudClients createClients(final CloudTarget cloud) throws GeneralSecurityException, IOException {
+		final boolean ownBlockingClient = httpPoolEnabled || cloud.hasOwnStores();
+		final AsyncHttpTransport httpTransport = asyncHttpEnabled || ownBlockingClient ? createHttpTransport(createSSLContext(cloud)) : null;
+		final HttpServiceClient httpService = ownBlockingClient ? new PooledHttpServiceClient(httpTransport) : new LibraryHttpServiceClient(arrowheadService);
+		return new CloudClients(httpTransport, asyncHttpEnabled ? httpTransport : null, httpService);
 	}
 
 	// -------------------------------------------------------------------------------------------------
-	private List<ServiceDefinitionResponseDTO> getServices() {
-		logger.debug("Get services request started...");
-		final ServiceDefinitionsListResponseDTO response = arrowheadService.consumeServiceHTTP(
-				ServiceDefinitionsListResponseDTO.class, HttpMethod.GET,
-				Utilities.createURI(getScheme(),
-						serviceRegistryAddress,
-						serviceRegistryPort,
-						CommonConstants.SERVICEREGISTRY_URI + ConsumerConstants.QUERY_GET_SERVICES),
-				null, null);
-		return response.getData();
+	// the SSL context is null in insecure mode
+	private AsyncHttpTransport createHttpTransport(final SSLContext sslContext) {
+		AsyncHttpTransport.configureConnectionPool(httpPoolSize, httpPoolIdleTimeoutSeconds);
+		return new AsyncHttpTransport(sslContext, asyncHttpThreads);
 	}
 
 	// -------------------------------------------------------------------------------------------------
-	private List<ServiceInterfaceResponseDTO> getInterfaces() {
-		logger.debug("Get interfaces request started...");
-		final ServiceInterfacesListResponseDTO response = arrowheadService.consumeServiceHTTP(
-				ServiceInterfacesListResponseDTO.class, HttpMethod.GET,
-				Utilities.createURI(getScheme(),
-						serviceRegistryAddress,
-						serviceRegistryPort,
-						CommonConstants.SERVICEREGISTRY_URI + ConsumerConstants.QUERY_GET_INTERFACES),
-				null, null);
-		return response.getData();
+	// the stores of the cloud if it has its own, the stores of application.properties otherwise
+	private SSLContext createSSLContext(final CloudTarget cloud) throws GeneralSecurityException, IOException {
+		if (!sslProperties.isSslEnabled()) {
+			return null;
+		}
+		if (!cloud.hasOwnStores()) {
+			return AsyncHttpTransport.createSSLContext(sslProperties, tlsSessionCacheSize, tlsSessionTimeoutSeconds, httpSkipHostnameVerification);
+		}
+
+		final ResourceLoader resourceLoader = new FileSystemResourceLoader();
+		final String keyPassword = cloud.getKeyPassword() != null ? cloud.getKeyPassword() : cloud.getKeyStorePassword();
+		return AsyncHttpTransport.createSSLContext(sslProperties.getKeyStoreType(), resourceLoader.getResource(cloud.getKeyStore()), cloud.getKeyStorePassword(), keyPassword,
+												   resourceLoader.getResource(cloud.getTrustStore()), cloud.getTrustStorePassword(), tlsSessionCacheSize, tlsSessionTimeoutSeconds,
+												   httpSkipHostnameVerification);
 	}
 
 	// -------------------------------------------------------------------------------------------------
-	private List<AuthorizationIntraCloudResponseDTO> getAuthorizationRules() throws Exception {
-
-		List<AuthorizationIntraCloudResponseDTO> rules = new ArrayList<>();
-
-		logger.debug("Get authorization rules request started...");
-		final AuthorizationIntraCloudListResponseDTO response = arrowheadService.consumeServiceHTTP(
-				AuthorizationIntraCloudListResponseDTO.class, HttpMethod.GET,
-				Utilities.createURI(authorizationUri.get(ConsumerConstants.SCHEME), authorizationUri.get(ConsumerConstants.HOST),
-						Integer.parseInt(authorizationUri.get(ConsumerConstants.PORT)),
-						authorizationUri.get(ConsumerConstants.PATH) + ConsumerConstants.OP_AUTH_INTRA_CLOUD),
-				null,
-				null);
-
-		if (response == null) {
-			logger.error("Getting the authorization rules was unsuccessful!");
-			throw new Exception("Existing authorization rules cannot be fetched.");
-		} else if (response.getData().isEmpty()) {
-			logger.debug("No current authorization were found.");
-		} else {
-			rules = response.getData();
+	// every cloud has its own journal and registry snapshot: the name of the cloud is inserted before the extension (operation-journal.line3.log)
+	private String getCloudFile(final String file, final CloudTarget cloud) {
+		if (cloud.getName() == null) {
+			return file;
 		}
-		return rules;
+
+		final Path path = Path.of(file);
+		final String fileName = path.getFileName().toString();
+		final int extension = fileName.lastIndexOf('.');
+		final String cloudFileName = extension > 0 ? fileName.substring(0, extension) + "." + cloud.getName() + fileName.substring(extension) : fileName + "." + cloud.getName();
+		return path.resolveSibling(cloudFileName).toString();
+	}
+
+	// -------------------------------------------------------------------------------------------------
+	private UriComponents createEchoURI(final SystemResponseDTO system) {
+		return Utilities.createURI(getScheme(), system.getAddress(), system.getPort(), CommonConstants.AUTHORIZATION_URI + CommonConstants.ECHO_URI);
 	}
 
 	// -------------------------------------------------------------------------------------------------
@@ -436,19 +695,36 @@ public class ConsumerMain implements ApplicationRunner {
 	}
 
 	// -------------------------------------------------------------------------------------------------
-	private Map<String, String> getAuthorizationUri() throws Exception {
+	private Map<String, String> getAuthorizationUri(final SystemResponseDTO system) throws Exception {
+		if (system == null) {
+			throw new Exception("The authorization core system address cannot be found!");
+		}
+
 		final Map<String, String> result = new HashMap<>();
 		result.put(ConsumerConstants.SCHEME, getScheme());
+		result.put(ConsumerConstants.HOST, system.getAddress());
+		result.put(ConsumerConstants.PORT, Integer.toString(system.getPort()));
+		result.put(ConsumerConstants.PATH, CommonConstants.AUTHORIZATION_URI);
 
-		for (final SystemResponseDTO system : systems) {
-			if (system.getSystemName().equals(ConsumerConstants.AUTHORIZATION)) {
-				result.put(ConsumerConstants.HOST, system.getAddress());
-				result.put(ConsumerConstants.PORT, Integer.toString(system.getPort()));
-				result.put(ConsumerConstants.PATH, CommonConstants.AUTHORIZATION_URI);
+		return result;
+	}
 
-				return result;
-			}
+	// =================================================================================================
+	// nested classes
+
+	// -------------------------------------------------------------------------------------------------
+	// the result of a successfully planned update; the rules are either expanded as a whole or (in an incremental run) one by one, a resumed run has neither
+	private static final class CloudUpdate {
+
+		private final AuthorizationState state;
+		private final ExpandedRules expandedRules;
+		private final RuleExpansions expansions;
+
+		// -------------------------------------------------------------------------------------------------
+		private CloudUpdate(final AuthorizationState state, final ExpandedRules expandedRules, final RuleExpansions expansions) {
+			this.state = state;
+			this.expandedRules = expandedRules;
+			this.expansions = expansions;
 		}
-		throw new Exception("The authorization core system address cannot be found!");
 	}
 }
@@ -0,0 +1,114 @@
+package eu.arrowhead.application.skeleton.consumer.apply;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.util.Assert;
+
+import eu.arrowhead.application.skeleton.consumer.client.InFlightLimiter;
+import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudRequestDTO;
+
+/**
+ * Non-blocking counterpart of PartitionedApplyExecutor: every operation is an asynchronous request, and up to maxInFlight requests of all
+ * consumers are in flight at the same time, no matter how many threads serve the responses.
+ * The ordering guarantees are the same: the POSTs of a consumer only start after all of its DELETEs succeeded, a failed DELETE skips the
+ * rest of its consumer's operations and no new operation is started after a failed POST.
+ */
+public class AsyncApplyExecutor {
+
+	//=================================================================================================
+	// members
+
+	private final Logger logger = LogManager.getLogger(AsyncApplyExecutor.class);
+
+	private final int maxInFlight;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public AsyncApplyExecutor(final int maxInFlight) {
+		Assert.isTrue(maxInFlight > 0, "The number of requests in flight must be positive!");
+		this.maxInFlight = maxInFlight;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// returns true if every operation was executed without error
+	public boolean apply(final AuthRuleOperations operations, final LongFunction<CompletableFuture<?>> deleteOperation,
+						 final Function<AuthorizationIntraCloudRequestDTO, CompletableFuture<?>> addOperation) {
+		final InFlightLimiter limiter = new InFlightLimiter(maxInFlight);
+		final AtomicBoolean aborted = new AtomicBoolean(false);
+		final AtomicBoolean failed = new AtomicBoolean(false);
+
+		final List<CompletableFuture<Void>> futures = new ArrayList<>();
+		for (final Long consumerId : operations.getConsumerIds()) {
+			futures.add(applyConsumer(consumerId, operations, limiter, deleteOperation, addOperation, aborted, failed));
+		}
+
+		try {
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			aborted.set(true);
+			failed.set(true);
+		} catch (final ExecutionException e) {
+			logger.error("Applying the authorization rules was unsuccessful, reason: " + e.getCause().getMessage());
+			failed.set(true);
+		}
+
+		return !failed.get();
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private CompletableFuture<Void> applyConsumer(final long consumerId, final AuthRuleOperations operations, final InFlightLimiter limiter, final LongFunction<CompletableFuture<?>> deleteOperation,
+												  final Function<AuthorizationIntraCloudRequestDTO, CompletableFuture<?>> addOperation, final AtomicBoolean aborted, final AtomicBoolean failed) {
+		final AtomicBoolean deleteFailed = new AtomicBoolean(false);
+		final List<CompletableFuture<Void>> deletes = new ArrayList<>();
+		for (final Long ruleId : operations.getDeletes(consumerId)) {
+			deletes.add(limiter.submit(() -> aborted.get() || deleteFailed.get() ? CompletableFuture.<Void>completedFuture(null) : deleteOperation.apply(ruleId).thenAccept(result -> {}))
+							   .exceptionally(e -> {
+								   // the DELETEs of a consumer run concurrently, so more than one of them may fail
+								   final String skipping = deleteFailed.getAndSet(true) ? "" : ", skipping the remaining operations of consumer " + consumerId;
+								   logger.error("Removing authorization rule with id " + ruleId + " of consumer " + consumerId + " was unsuccessful" + skipping + ", reason: " + unwrap(e).getMessage());
+								   failed.set(true);
+								   return null;
+							   }));
+		}
+
+		return CompletableFuture.allOf(deletes.toArray(new CompletableFuture[0])).thenCompose(v -> {
+			if (deleteFailed.get() || aborted.get()) {
+				return CompletableFuture.completedFuture(null);
+			}
+
+			final List<CompletableFuture<Void>> adds = new ArrayList<>();
+			for (final AuthorizationIntraCloudRequestDTO rule : operations.getAdds(consumerId)) {
+				adds.add(limiter.submit(() -> aborted.get() ? CompletableFuture.<Void>completedFuture(null) : addOperation.apply(rule).thenAccept(result -> {}))
+								.exceptionally(e -> {
+									// the rejected (400) and the not applied rules are handled by the operation itself (AuthorizationClient.addRuleAsync classifies the error
+									// with the same isRejected as the blocking addRule), so only the errors after which applying further rules makes no sense get here
+									final String stopping = aborted.getAndSet(true) ? "" : ", no further operations are started";
+									logger.error("Adding authorization rule " + rule + " of consumer " + consumerId + " was unsuccessful" + stopping + ", reason: " + unwrap(e).getMessage());
+									failed.set(true);
+									return null;
+								}));
+			}
+			return CompletableFuture.allOf(adds.toArray(new CompletableFuture[0]));
+		});
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private Throwable unwrap(final Throwable error) {
+		return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+	}
+}
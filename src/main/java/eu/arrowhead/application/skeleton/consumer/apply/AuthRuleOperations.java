@@ -0,0 +1,79 @@
+package eu.arrowhead.application.skeleton.consumer.apply;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudRequestDTO;
+import eu.arrowhead.application.skeleton.consumer.rule.AuthorizationEntry;
+
+/**
+ * The DELETE and POST operations of a run, partitioned by consumer system id.
+ */
+public class AuthRuleOperations {
+
+	//=================================================================================================
+	// members
+
+	private final Map<Long, List<Long>> deletesByConsumer = new LinkedHashMap<>();
+	private final Map<Long, List<AuthorizationIntraCloudRequestDTO>> addsByConsumer = new LinkedHashMap<>();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public void addDelete(final long consumerId, final long ruleId) {
+		deletesByConsumer.computeIfAbsent(consumerId, k -> new ArrayList<>()).add(ruleId);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void addDeletes(final List<AuthorizationEntry> rules) {
+		for (final AuthorizationEntry rule : rules) {
+			addDelete(rule.getKey().getConsumerId(), rule.getId());
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void addAdds(final List<AuthorizationIntraCloudRequestDTO> rules) {
+		for (final AuthorizationIntraCloudRequestDTO rule : rules) {
+			addsByConsumer.computeIfAbsent(rule.getConsumerId(), k -> new ArrayList<>()).add(rule);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public Set<Long> getConsumerIds() {
+		final Set<Long> result = new LinkedHashSet<>(deletesByConsumer.keySet());
+		result.addAll(addsByConsumer.keySet());
+		return result;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public List<Long> getDeletes(final long consumerId) {
+		return deletesByConsumer.getOrDefault(consumerId, Collections.emptyList());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public List<AuthorizationIntraCloudRequestDTO> getAdds(final long consumerId) {
+		return addsByConsumer.getOrDefault(consumerId, Collections.emptyList());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public int getDeleteCount() {
+		return deletesByConsumer.values().stream().mapToInt(List::size).sum();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public int getAddCount() {
+		return addsByConsumer.values().stream().mapToInt(List::size).sum();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String toString() {
+		return "consumers: " + getConsumerIds().size() + ", deletes: " + getDeleteCount() + ", adds: " + getAddCount();
+	}
+}
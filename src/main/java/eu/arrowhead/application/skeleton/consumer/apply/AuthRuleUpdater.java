@@ -0,0 +1,201 @@
+package eu.arrowhead.application.skeleton.consumer.apply;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import eu.arrowhead.application.skeleton.consumer.client.AuthorizationClient;
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+import eu.arrowhead.application.skeleton.consumer.journal.OperationJournal;
+import eu.arrowhead.application.skeleton.consumer.resolver.RegistryResolver;
+import eu.arrowhead.application.skeleton.consumer.rule.AuthRuleCoalescer;
+import eu.arrowhead.application.skeleton.consumer.rule.AuthRuleExpander;
+import eu.arrowhead.application.skeleton.consumer.rule.AuthRuleReconciler;
+import eu.arrowhead.application.skeleton.consumer.rule.AuthorizationEntry;
+import eu.arrowhead.application.skeleton.consumer.rule.AuthorizationState;
+import eu.arrowhead.application.skeleton.consumer.rule.ExpandedRules;
+import eu.arrowhead.application.skeleton.consumer.rule.LongHashSet;
+import eu.arrowhead.application.skeleton.consumer.rule.ReconciliationPlan;
+
+/**
+ * Plans and applies the authorization rule updates of one local cloud against a resolved registry.
+ */
+public class AuthRuleUpdater {
+
+	//=================================================================================================
+	// members
+
+	private final Logger logger = LogManager.getLogger(AuthRuleUpdater.class);
+
+	private final AuthorizationClient authorizationClient;
+	private final AuthRuleCoalescer coalescer;
+	private final PartitionedApplyExecutor executor;
+	private final AsyncApplyExecutor asyncExecutor;
+	private volatile RegistryResolver resolver;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public AuthRuleUpdater(final RegistryResolver resolver, final AuthorizationClient authorizationClient, final int maxBatchSize, final int applyParallelism) {
+		this(resolver, authorizationClient, maxBatchSize, applyParallelism, applyParallelism);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// applyParallelism is the number of threads of the blocking mode, asyncMaxInFlight the number of requests in flight if the client is asynchronous
+	public AuthRuleUpdater(final RegistryResolver resolver, final AuthorizationClient authorizationClient, final int maxBatchSize, final int applyParallelism, final int asyncMaxInFlight) {
+		this.resolver = resolver;
+		this.authorizationClient = authorizationClient;
+		this.coalescer = new AuthRuleCoalescer(maxBatchSize);
+		this.executor = new PartitionedApplyExecutor(applyParallelism);
+		this.asyncExecutor = new AsyncApplyExecutor(asyncMaxInFlight);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public RegistryResolver getResolver() {
+		return resolver;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void setResolver(final RegistryResolver resolver) {
+		this.resolver = resolver;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public AuthorizationState fetchState() {
+		final AuthorizationState state = new AuthorizationState();
+		authorizationClient.fetchRules(state::accept);
+		return state;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public ExpandedRules expand(final List<AuthRule> rules) {
+		return new AuthRuleExpander(resolver).expand(rules);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// only deletes and adds the entries that differ from the current state of the consumers in scope
+	// (the consumers mentioned in the rules plus the additional ones, e.g. consumers removed from the rules since the last update)
+	public AuthRuleOperations planReconciliation(final ExpandedRules desired, final Set<Long> additionalConsumerIds, final AuthorizationState state) {
+		ExpandedRules scoped = desired;
+		if (!additionalConsumerIds.isEmpty()) {
+			final Set<Long> consumerIds = new LinkedHashSet<>(desired.getConsumerIds());
+			consumerIds.addAll(additionalConsumerIds);
+			scoped = new ExpandedRules(desired.getAuthorizations(), consumerIds, desired.getDuplicateTupleCount());
+		}
+
+		final AuthRuleReconciler reconciler = new AuthRuleReconciler(scoped);
+		reconciler.accept(state.getEntries());
+		final ReconciliationPlan plan = reconciler.getPlan();
+		logger.debug("Reconciliation plan: " + plan.toString());
+
+		final AuthRuleOperations operations = new AuthRuleOperations();
+		operations.addDeletes(plan.getRulesToDelete());
+		operations.addAdds(coalescer.coalesce(plan.getAuthorizationsToAdd()));
+		return operations;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// deletes every existing rule of the consumers mentioned in the rules and adds everything again
+	public AuthRuleOperations planReplacement(final List<AuthRule> rules, final AuthorizationState state) {
+		return planReplacement(rules, expand(rules), state);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// same as above with the rules already expanded
+	public AuthRuleOperations planReplacement(final List<AuthRule> rules, final ExpandedRules desired, final AuthorizationState state) {
+		final AuthRuleOperations operations = new AuthRuleOperations();
+		operations.addDeletes(getRulesToDelete(state.getEntries(), getSystemIdsToDelete(rules)));
+		operations.addAdds(coalescer.coalesce(desired.getAuthorizations()));
+		return operations;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// returns true if every operation was executed without error; the state follows the executed operations
+	public boolean apply(final AuthRuleOperations operations, final AuthorizationState state) {
+		return apply(operations, state, null);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// same as above, but every completed operation is also recorded in the journal (if not null)
+	public boolean apply(final AuthRuleOperations operations, final AuthorizationState state, final OperationJournal.Recorder journal) {
+		logger.debug("Applying authorization rule operations: " + operations.toString());
+
+		if (authorizationClient.isAsync()) {
+			return asyncExecutor.apply(operations,
+									   id -> authorizationClient.deleteRuleAsync(id).thenRun(() -> {
+										   state.remove(id);
+										   if (journal != null) {
+											   journal.deleted(id);
+										   }
+									   }),
+									   rule -> authorizationClient.addRuleAsync(rule).thenAccept(created -> {
+										   state.accept(created);
+										   if (journal != null) {
+											   journal.added(rule);
+										   }
+									   }));
+		}
+
+		return executor.apply(operations,
+							  id -> {
+								  authorizationClient.deleteRule(id);
+								  state.remove(id);
+								  if (journal != null) {
+									  journal.deleted(id);
+								  }
+							  },
+							  rule -> {
+								  state.accept(authorizationClient.addRule(rule));
+								  if (journal != null) {
+									  journal.added(rule);
+								  }
+							  });
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	// linear in the number of resolved ids: the ids are deduplicated in a primitive hash set
+	private LongHashSet getSystemIdsToDelete(final List<AuthRule> rules) {
+
+		final LongHashSet result = new LongHashSet(rules.size());
+
+		for (final AuthRule rule : rules) {
+			try {
+				final List<Long> ids = resolver.getSystemIdsByInfo(rule.getConsumer());
+				for (final long id : ids) {
+					result.add(id);
+				}
+
+			} catch (final Exception e) {
+				logger.error(e);
+			}
+
+		}
+
+		return result;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// one pass over the existing entries with an O(1) membership test per entry
+	private List<AuthorizationEntry> getRulesToDelete(final List<AuthorizationEntry> rules, final LongHashSet systemIds) {
+
+		final List<AuthorizationEntry> result = new ArrayList<>();
+		if (systemIds.isEmpty()) {
+			return result;
+		}
+
+		for (final AuthorizationEntry rule : rules) {
+			if (systemIds.contains(rule.getKey().getConsumerId())) {
+				result.add(rule);
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,105 @@
+package eu.arrowhead.application.skeleton.consumer.apply;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.util.Assert;
+
+import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudRequestDTO;
+
+/**
+ * Applies the operations of different consumers concurrently on a bounded pool, while the operations of one consumer run sequentially
+ * with every DELETE preceding the POSTs.
+ * If an operation fails, the rest of its consumer's operations are skipped; no new operations are started after a failed POST,
+ * just like the sequential apply stopped at the first rethrown error.
+ */
+public class PartitionedApplyExecutor {
+
+	//=================================================================================================
+	// members
+
+	private final Logger logger = LogManager.getLogger(PartitionedApplyExecutor.class);
+
+	private final int parallelism;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public PartitionedApplyExecutor(final int parallelism) {
+		Assert.isTrue(parallelism > 0, "The apply parallelism must be positive!");
+		this.parallelism = parallelism;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// returns true if every operation was executed without error
+	public boolean apply(final AuthRuleOperations operations, final LongConsumer deleteOperation, final Consumer<AuthorizationIntraCloudRequestDTO> addOperation) {
+		final AtomicBoolean aborted = new AtomicBoolean(false);
+		final AtomicBoolean failed = new AtomicBoolean(false);
+		final ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, operations.getConsumerIds().size())));
+
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for (final Long consumerId : operations.getConsumerIds()) {
+				futures.add(pool.submit(() -> applyConsumer(consumerId, operations, deleteOperation, addOperation, aborted, failed)));
+			}
+
+			for (final Future<?> future : futures) {
+				future.get();
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			aborted.set(true);
+			failed.set(true);
+		} catch (final ExecutionException e) {
+			logger.error("Applying the authorization rules was unsuccessful, reason: " + e.getCause().getMessage());
+			failed.set(true);
+		} finally {
+			pool.shutdownNow();
+		}
+
+		return !failed.get();
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private void applyConsumer(final long consumerId, final AuthRuleOperations operations, final LongConsumer deleteOperation, final Consumer<AuthorizationIntraCloudRequestDTO> addOperation,
+							   final AtomicBoolean aborted, final AtomicBoolean failed) {
+		for (final Long ruleId : operations.getDeletes(consumerId)) {
+			if (aborted.get()) {
+				return;
+			}
+			try {
+				deleteOperation.accept(ruleId);
+			} catch (final Exception e) {
+				logger.error("Removing authorization rule with id " + ruleId + " was unsuccessful, skipping the remaining operations of consumer " + consumerId + ", reason: " + e.getMessage());
+				failed.set(true);
+				return;
+			}
+		}
+
+		for (final AuthorizationIntraCloudRequestDTO rule : operations.getAdds(consumerId)) {
+			if (aborted.get()) {
+				return;
+			}
+			try {
+				addOperation.accept(rule);
+			} catch (final Exception e) {
+				aborted.set(true);
+				failed.set(true);
+				return;
+			}
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package eu.arrowhead.application.skeleton.consumer.cache;
+
+import java.util.Objects;
+
+/**
+ * Cheap fingerprint of a registry list: the number of elements and the latest modification time among them.
+ * Most changes alter one of the two, but not all of them: the modification times have second granularity, so a change that keeps the count
+ * (an update, or a removal together with an addition) made within the same second as the latest modification is not seen.
+ */
+public final class ListStamp {
+
+	//=================================================================================================
+	// members
+
+	private final long count;
+	private final String latestUpdatedAt;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public ListStamp(final long count, final String latestUpdatedAt) {
+		this.count = count;
+		this.latestUpdatedAt = latestUpdatedAt;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public long getCount() {
+		return count;
+	}
+
+	public String getLatestUpdatedAt() {
+		return latestUpdatedAt;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof ListStamp)) {
+			return false;
+		}
+		final ListStamp other = (ListStamp) obj;
+		return count == other.count && Objects.equals(latestUpdatedAt, other.latestUpdatedAt);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public int hashCode() {
+		return Objects.hash(count, latestUpdatedAt);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String toString() {
+		return "count: " + count + ", latestUpdatedAt: " + latestUpdatedAt;
+	}
+}
@@ -0,0 +1,64 @@
+package eu.arrowhead.application.skeleton.consumer.cache;
+
+import java.util.Objects;
+
+/**
+ * The freshness stamps of the three registry lists a snapshot was taken from.
+ */
+public final class RegistrySnapshot {
+
+	//=================================================================================================
+	// members
+
+	private final ListStamp systems;
+	private final ListStamp services;
+	private final ListStamp interfaces;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public RegistrySnapshot(final ListStamp systems, final ListStamp services, final ListStamp interfaces) {
+		this.systems = systems;
+		this.services = services;
+		this.interfaces = interfaces;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public ListStamp getSystems() {
+		return systems;
+	}
+
+	public ListStamp getServices() {
+		return services;
+	}
+
+	public ListStamp getInterfaces() {
+		return interfaces;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof RegistrySnapshot)) {
+			return false;
+		}
+		final RegistrySnapshot other = (RegistrySnapshot) obj;
+		return Objects.equals(systems, other.systems) && Objects.equals(services, other.services) && Objects.equals(interfaces, other.interfaces);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public int hashCode() {
+		return Objects.hash(systems, services, interfaces);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String toString() {
+		return "systems: [" + systems + "], services: [" + services + "], interfaces: [" + interfaces + "]";
+	}
+}
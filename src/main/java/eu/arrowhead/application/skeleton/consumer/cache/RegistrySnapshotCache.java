@@ -0,0 +1,288 @@
+package eu.arrowhead.application.skeleton.consumer.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import eu.arrowhead.application.skeleton.consumer.resolver.RegistryResolver;
+import eu.arrowhead.common.dto.shared.ServiceDefinitionResponseDTO;
+import eu.arrowhead.common.dto.shared.ServiceInterfaceResponseDTO;
+import eu.arrowhead.common.dto.shared.SystemResponseDTO;
+
+/**
+ * Local copy of the registry data the rules are resolved against (systems with their address and metadata, service definitions, interfaces),
+ * stored as a gzipped binary record stream. The snapshot is written while the registry is being fetched and replaces the file atomically
+ * once every list has arrived.
+ */
+public class RegistrySnapshotCache {
+
+	//=================================================================================================
+	// members
+
+	private static final int MAGIC = 0x41485253;
+	private static final int VERSION = 2;
+	private static final byte RECORD_END = 0;
+	private static final byte RECORD_SYSTEM = 1;
+	private static final byte RECORD_SERVICE = 2;
+	private static final byte RECORD_INTERFACE = 3;
+	private static final int LOAD_CHUNK_SIZE = 1000;
+
+	private final Logger logger = LogManager.getLogger(RegistrySnapshotCache.class);
+
+	private final Path file;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public RegistrySnapshotCache(final Path file) {
+		this.file = file;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public boolean exists() {
+		return Files.isRegularFile(file);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// fills the resolver from the snapshot file; returns the stamps of the snapshot or null if there is no usable snapshot
+	public RegistrySnapshot load(final RegistryResolver resolver) {
+		if (!exists()) {
+			return null;
+		}
+
+		try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				logger.debug("Ignoring registry snapshot with unknown format: " + file);
+				return null;
+			}
+
+			final List<SystemResponseDTO> systems = new ArrayList<>(LOAD_CHUNK_SIZE);
+			final List<ServiceDefinitionResponseDTO> services = new ArrayList<>();
+			final List<ServiceInterfaceResponseDTO> interfaces = new ArrayList<>();
+			byte recordType;
+			while ((recordType = in.readByte()) != RECORD_END) {
+				switch (recordType) {
+				case RECORD_SYSTEM:
+					systems.add(readSystem(in));
+					if (systems.size() == LOAD_CHUNK_SIZE) {
+						resolver.addSystems(systems);
+						systems.clear();
+					}
+					break;
+				case RECORD_SERVICE:
+					services.add(new ServiceDefinitionResponseDTO(in.readLong(), readString(in), null, null));
+					break;
+				case RECORD_INTERFACE:
+					interfaces.add(new ServiceInterfaceResponseDTO(in.readLong(), readString(in), null, null));
+					break;
+				default:
+					throw new IOException("unknown record type " + recordType);
+				}
+			}
+			resolver.addSystems(systems);
+			resolver.addServices(services);
+			resolver.addInterfaces(interfaces);
+
+			return new RegistrySnapshot(readStamp(in), readStamp(in), readStamp(in));
+		} catch (final IOException e) {
+			logger.debug("Ignoring unreadable registry snapshot " + file + ", reason: " + e.getMessage());
+			return null;
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public Writer openWriter() throws IOException {
+		return new Writer();
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private SystemResponseDTO readSystem(final DataInputStream in) throws IOException {
+		final long id = in.readLong();
+		final String name = readString(in);
+		final String address = readString(in);
+		final int port = in.readInt();
+		final int metadataSize = in.readInt();
+		Map<String, String> metadata = null;
+		if (metadataSize >= 0) {
+			metadata = new HashMap<>(metadataSize * 2);
+			for (int i = 0; i < metadataSize; ++i) {
+				metadata.put(readString(in), readString(in));
+			}
+		}
+
+		return new SystemResponseDTO(id, name, address, port, null, metadata, null, null);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private ListStamp readStamp(final DataInputStream in) throws IOException {
+		final long count = in.readLong();
+		final String latestUpdatedAt = readString(in);
+
+		return new ListStamp(count, latestUpdatedAt);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// counterpart of Writer.writeString
+	private String readString(final DataInputStream in) throws IOException {
+		if (!in.readBoolean()) {
+			return null;
+		}
+
+		final int length = in.readInt();
+		if (length < 0) {
+			throw new IOException("invalid string length " + length);
+		}
+
+		final byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	//=================================================================================================
+	// nested classes
+
+	//-------------------------------------------------------------------------------------------------
+	/**
+	 * Writes a new snapshot into a temporary file. The page methods may be called from multiple threads.
+	 */
+	public final class Writer {
+
+		//=================================================================================================
+		// members
+
+		private final Path tempFile;
+		private final DataOutputStream out;
+		private String latestSystemUpdate;
+		private String latestServiceUpdate;
+		private String latestInterfaceUpdate;
+
+		//=================================================================================================
+		// methods
+
+		//-------------------------------------------------------------------------------------------------
+		private Writer() throws IOException {
+			final Path directory = file.toAbsolutePath().getParent();
+			Files.createDirectories(directory);
+			this.tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+			this.out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tempFile))));
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		public synchronized void writeSystems(final List<SystemResponseDTO> systems) throws IOException {
+			for (final SystemResponseDTO system : systems) {
+				out.writeByte(RECORD_SYSTEM);
+				out.writeLong(system.getId());
+				writeString(system.getSystemName());
+				writeString(system.getAddress());
+				out.writeInt(system.getPort());
+				if (system.getMetadata() == null) {
+					out.writeInt(-1);
+				} else {
+					out.writeInt(system.getMetadata().size());
+					for (final Map.Entry<String, String> entry : system.getMetadata().entrySet()) {
+						writeString(entry.getKey());
+						writeString(entry.getValue());
+					}
+				}
+				latestSystemUpdate = latest(latestSystemUpdate, system.getUpdatedAt());
+			}
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		public synchronized void writeServices(final List<ServiceDefinitionResponseDTO> services) throws IOException {
+			for (final ServiceDefinitionResponseDTO service : services) {
+				out.writeByte(RECORD_SERVICE);
+				out.writeLong(service.getId());
+				writeString(service.getServiceDefinition());
+				latestServiceUpdate = latest(latestServiceUpdate, service.getUpdatedAt());
+			}
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		public synchronized void writeInterfaces(final List<ServiceInterfaceResponseDTO> interfaces) throws IOException {
+			for (final ServiceInterfaceResponseDTO interfaceElement : interfaces) {
+				out.writeByte(RECORD_INTERFACE);
+				out.writeLong(interfaceElement.getId());
+				writeString(interfaceElement.getInterfaceName());
+				latestInterfaceUpdate = latest(latestInterfaceUpdate, interfaceElement.getUpdatedAt());
+			}
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		// the stamps of the written data; only meaningful after every page has been written
+		public synchronized RegistrySnapshot getSnapshot(final long systemCount, final long serviceCount, final long interfaceCount) {
+			return new RegistrySnapshot(new ListStamp(systemCount, latestSystemUpdate), new ListStamp(serviceCount, latestServiceUpdate),
+										new ListStamp(interfaceCount, latestInterfaceUpdate));
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		// must be called after every page has been written; replaces the previous snapshot
+		public synchronized void commit(final RegistrySnapshot snapshot) throws IOException {
+			out.writeByte(RECORD_END);
+			writeStamp(snapshot.getSystems());
+			writeStamp(snapshot.getServices());
+			writeStamp(snapshot.getInterfaces());
+			out.close();
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		public synchronized void abort() {
+			try {
+				out.close();
+				Files.deleteIfExists(tempFile);
+			} catch (final IOException e) {
+				logger.debug("Could not remove temporary registry snapshot " + tempFile + ", reason: " + e.getMessage());
+			}
+		}
+
+		//=================================================================================================
+		// assistant methods
+
+		//-------------------------------------------------------------------------------------------------
+		private void writeStamp(final ListStamp stamp) throws IOException {
+			out.writeLong(stamp.getCount());
+			writeString(stamp.getLatestUpdatedAt());
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		// presence flag and length-prefixed UTF-8 bytes: unlike writeUTF there is no 64 KB limit (metadata values may be long) and null stays distinct from ""
+		private void writeString(final String value) throws IOException {
+			out.writeBoolean(value != null);
+			if (value != null) {
+				final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		private String latest(final String current, final String candidate) {
+			if (candidate == null) {
+				return current;
+			}
+			return current == null || candidate.compareTo(current) > 0 ? candidate : current;
+		}
+	}
+}
@@ -0,0 +1,170 @@
+package eu.arrowhead.application.skeleton.consumer.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import eu.arrowhead.application.skeleton.consumer.rule.AuthRuleKey;
+import eu.arrowhead.application.skeleton.consumer.rule.ExpandedRules;
+import eu.arrowhead.application.skeleton.consumer.rule.RuleExpansions;
+
+/**
+ * Stores the rule expansions of the last successful run (see RuleExpansions) as a gzipped binary file, which is replaced atomically.
+ * A missing or unreadable file simply means that the next run is a full one.
+ */
+public class RuleExpansionCache {
+
+	//=================================================================================================
+	// members
+
+	private static final int MAGIC = 0x41485245;
+	private static final int VERSION = 1;
+
+	private final Logger logger = LogManager.getLogger(RuleExpansionCache.class);
+
+	private final Path file;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public RuleExpansionCache(final Path file) {
+		this.file = file;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// returns null if there are no usable expansions
+	public RuleExpansions load() {
+		if (!Files.isRegularFile(file)) {
+			return null;
+		}
+
+		try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				logger.debug("Ignoring rule expansions with unknown format: " + file);
+				return null;
+			}
+
+			final RegistrySnapshot registryStamp = new RegistrySnapshot(readStamp(in), readStamp(in), readStamp(in));
+			final int ruleCount = in.readInt();
+			final Map<Long, ExpandedRules> expansions = new LinkedHashMap<>(ruleCount * 2);
+			for (int i = 0; i < ruleCount; ++i) {
+				final long ruleHash = in.readLong();
+				expansions.put(ruleHash, readExpansion(in));
+			}
+
+			return new RuleExpansions(registryStamp, expansions);
+		} catch (final IOException e) {
+			logger.debug("Ignoring unreadable rule expansions " + file + ", reason: " + e.getMessage());
+			return null;
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void save(final RuleExpansions expansions) throws IOException {
+		final Path directory = file.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		final Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+		try {
+			try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tempFile))))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				writeStamp(out, expansions.getRegistryStamp().getSystems());
+				writeStamp(out, expansions.getRegistryStamp().getServices());
+				writeStamp(out, expansions.getRegistryStamp().getInterfaces());
+				out.writeInt(expansions.getExpansionsByRuleHash().size());
+				for (final Map.Entry<Long, ExpandedRules> entry : expansions.getExpansionsByRuleHash().entrySet()) {
+					out.writeLong(entry.getKey());
+					writeExpansion(out, entry.getValue());
+				}
+			}
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the Authorization entries were changed without storing the matching expansions, so the next run must be a full one
+	public void invalidate() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private ExpandedRules readExpansion(final DataInputStream in) throws IOException {
+		final int consumerCount = in.readInt();
+		final Set<Long> consumerIds = new LinkedHashSet<>(consumerCount * 2);
+		for (int i = 0; i < consumerCount; ++i) {
+			consumerIds.add(in.readLong());
+		}
+
+		final int keyCount = in.readInt();
+		final Map<AuthRuleKey, Set<Long>> authorizations = new HashMap<>(keyCount * 2);
+		for (int i = 0; i < keyCount; ++i) {
+			final AuthRuleKey key = new AuthRuleKey(in.readLong(), in.readLong(), in.readLong());
+			final int interfaceCount = in.readInt();
+			final Set<Long> interfaceIds = new LinkedHashSet<>(interfaceCount * 2);
+			for (int j = 0; j < interfaceCount; ++j) {
+				interfaceIds.add(in.readLong());
+			}
+			authorizations.put(key, interfaceIds);
+		}
+
+		return new ExpandedRules(authorizations, consumerIds);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void writeExpansion(final DataOutputStream out, final ExpandedRules expansion) throws IOException {
+		out.writeInt(expansion.getConsumerIds().size());
+		for (final long consumerId : expansion.getConsumerIds()) {
+			out.writeLong(consumerId);
+		}
+
+		out.writeInt(expansion.getAuthorizations().size());
+		for (final Map.Entry<AuthRuleKey, Set<Long>> entry : expansion.getAuthorizations().entrySet()) {
+			out.writeLong(entry.getKey().getConsumerId());
+			out.writeLong(entry.getKey().getProviderId());
+			out.writeLong(entry.getKey().getServiceDefinitionId());
+			out.writeInt(entry.getValue().size());
+			for (final long interfaceId : entry.getValue()) {
+				out.writeLong(interfaceId);
+			}
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private ListStamp readStamp(final DataInputStream in) throws IOException {
+		final long count = in.readLong();
+		final String latestUpdatedAt = in.readBoolean() ? in.readUTF() : null;
+
+		return new ListStamp(count, latestUpdatedAt);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void writeStamp(final DataOutputStream out, final ListStamp stamp) throws IOException {
+		out.writeLong(stamp.getCount());
+		out.writeBoolean(stamp.getLatestUpdatedAt() != null);
+		if (stamp.getLatestUpdatedAt() != null) {
+			out.writeUTF(stamp.getLatestUpdatedAt());
+		}
+	}
+}
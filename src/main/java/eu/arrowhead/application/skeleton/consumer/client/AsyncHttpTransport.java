@@ -0,0 +1,299 @@
+package eu.arrowhead.application.skeleton.consumer.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509ExtendedTrustManager;
+import javax.net.ssl.X509TrustManager;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.Assert;
+import org.springframework.web.util.UriComponents;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import eu.arrowhead.common.SSLProperties;
+import eu.arrowhead.common.exception.ArrowheadException;
+
+/**
+ * Non-blocking alternative of ArrowheadService.consumeServiceHTTP on the JDK HTTP client: HTTP/2 is negotiated where the server supports it
+ * (HTTP/1.1 otherwise) and the responses are handled by a small fixed pool, so the number of requests in flight does not depend on the number of threads.
+ * Error responses complete the future with an ArrowheadException carrying the HTTP status as error code, like the blocking path.
+ * Connections are kept alive and reused (see configureConnectionPool), and the TLS sessions are cached by the SSL context, so a new connection
+ * to a known host only needs an abbreviated handshake.
+ */
+public class AsyncHttpTransport implements Closeable {
+
+	//=================================================================================================
+	// members
+
+	private static final String CONNECTION_POOL_SIZE = "jdk.httpclient.connectionPoolSize";
+	private static final String KEEP_ALIVE_TIMEOUT = "jdk.httpclient.keepalive.timeout";
+	private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(30);
+
+	private final Logger logger = LogManager.getLogger(AsyncHttpTransport.class);
+	private final ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+	private final ExecutorService executor;
+	private final HttpClient httpClient;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	// the SSL context is null in insecure mode
+	public AsyncHttpTransport(final SSLContext sslContext, final int threads) {
+		this.executor = Executors.newFixedThreadPool(threads);
+
+		final HttpClient.Builder builder = HttpClient.newBuilder()
+													 .version(HttpClient.Version.HTTP_2)
+													 .connectTimeout(CONNECT_TIMEOUT)
+													 .executor(executor);
+		if (sslContext != null) {
+			builder.sslContext(sslContext);
+		}
+		this.httpClient = builder.build();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the JDK HTTP client reads these settings once, when the first client of the JVM is created; explicit -D options take precedence
+	// poolSize: maximum number of idle connections kept (0: no limit), idleTimeoutSeconds: how long an idle connection is kept
+	public static void configureConnectionPool(final int poolSize, final long idleTimeoutSeconds) {
+		Assert.isTrue(poolSize >= 0, "The connection pool size must not be negative!");
+		Assert.isTrue(idleTimeoutSeconds > 0, "The idle timeout of the pooled connections must be positive!");
+		setDefault(CONNECTION_POOL_SIZE, Integer.toString(poolSize));
+		setDefault(KEEP_ALIVE_TIMEOUT, Long.toString(idleTimeoutSeconds));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// same key and trust stores as the blocking client; sessionCacheSize and sessionTimeoutSeconds configure the TLS session cache (0: JDK default)
+	// the host name is verified unless skipHostnameVerification is set: the certificates of the Arrowhead systems are often issued to system names
+	// instead of host names, and then only the certificate chain can be checked (this only affects the clients created with the returned context)
+	public static SSLContext createSSLContext(final SSLProperties sslProperties, final int sessionCacheSize, final int sessionTimeoutSeconds, final boolean skipHostnameVerification)
+			throws GeneralSecurityException, IOException {
+		return createSSLContext(sslProperties.getKeyStoreType(), sslProperties.getKeyStore(), sslProperties.getKeyStorePassword(), sslProperties.getKeyPassword(), sslProperties.getTrustStore(),
+								sslProperties.getTrustStorePassword(), sessionCacheSize, sessionTimeoutSeconds, skipHostnameVerification);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the same with explicitly given stores (e.g. the stores of another cloud); both stores are of the given type
+	public static SSLContext createSSLContext(final String storeType, final Resource keyStoreResource, final String keyStorePassword, final String keyPassword, final Resource trustStoreResource,
+											  final String trustStorePassword, final int sessionCacheSize, final int sessionTimeoutSeconds, final boolean skipHostnameVerification)
+			throws GeneralSecurityException, IOException {
+		final KeyStore keyStore = KeyStore.getInstance(storeType);
+		try (final InputStream in = keyStoreResource.getInputStream()) {
+			keyStore.load(in, keyStorePassword.toCharArray());
+		}
+		final KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+		keyManagerFactory.init(keyStore, keyPassword.toCharArray());
+
+		final KeyStore trustStore = KeyStore.getInstance(storeType);
+		try (final InputStream in = trustStoreResource.getInputStream()) {
+			trustStore.load(in, trustStorePassword.toCharArray());
+		}
+		final TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+		trustManagerFactory.init(trustStore);
+
+		final TrustManager[] trustManagers = trustManagerFactory.getTrustManagers();
+		if (skipHostnameVerification) {
+			for (int i = 0; i < trustManagers.length; ++i) {
+				if (trustManagers[i] instanceof X509TrustManager) {
+					trustManagers[i] = new ChainOnlyTrustManager((X509TrustManager) trustManagers[i]);
+				}
+			}
+		}
+
+		final SSLContext sslContext = SSLContext.getInstance("TLS");
+		sslContext.init(keyManagerFactory.getKeyManagers(), trustManagers, null);
+		if (sessionCacheSize > 0) {
+			sslContext.getClientSessionContext().setSessionCacheSize(sessionCacheSize);
+		}
+		if (sessionTimeoutSeconds > 0) {
+			sslContext.getClientSessionContext().setSessionTimeout(sessionTimeoutSeconds);
+		}
+		return sslContext;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// completes with null if the response has no body
+	public <T> CompletableFuture<T> send(final Class<T> responseType, final HttpMethod method, final UriComponents uri, final Object payload) {
+		final HttpRequest request;
+		try {
+			final HttpRequest.Builder builder = HttpRequest.newBuilder(uri.toUri()).header("Accept", "application/json");
+			if (payload == null) {
+				builder.method(method.name(), HttpRequest.BodyPublishers.noBody());
+			} else {
+				builder.header("Content-Type", "application/json").method(method.name(), HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(payload)));
+			}
+			request = builder.build();
+		} catch (final IOException e) {
+			return CompletableFuture.failedFuture(new ArrowheadException("Could not create the request for " + uri.toUriString() + ": " + e.getMessage(), e));
+		}
+
+		return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+						 .thenApply(response -> convert(responseType, method, uri, response));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// opens (up to) the given number of connections to the host of the URI by sending that many concurrent GET requests to it,
+	// so the handshakes are done before the connections are needed; a failed warm-up is harmless, the connections are just opened later
+	public CompletableFuture<Void> warmUp(final UriComponents uri, final int connections) {
+		final List<CompletableFuture<String>> requests = new ArrayList<>(connections);
+		for (int i = 0; i < connections; ++i) {
+			requests.add(send(String.class, HttpMethod.GET, uri, null));
+		}
+
+		final long start = System.nanoTime();
+		return CompletableFuture.allOf(requests.toArray(new CompletableFuture[0])).handle((result, error) -> {
+			if (error != null) {
+				logger.debug("Warming up the connections to " + uri.getHost() + " was unsuccessful, reason: " + error.getMessage());
+			} else {
+				logger.debug(connections + " connection(s) to " + uri.getHost() + " warmed up in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+			}
+			return null;
+		});
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public void close() {
+		executor.shutdownNow();
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private static void setDefault(final String key, final String value) {
+		if (System.getProperty(key) == null) {
+			System.setProperty(key, value);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private <T> T convert(final Class<T> responseType, final HttpMethod method, final UriComponents uri, final HttpResponse<byte[]> response) {
+		final byte[] body = response.body();
+		if (response.statusCode() >= 400) {
+			throw new ArrowheadException(getErrorMessage(method, uri, response.statusCode(), body), response.statusCode());
+		}
+		if (responseType == String.class) {
+			return responseType.cast(new String(body, StandardCharsets.UTF_8));
+		}
+		if (body.length == 0) {
+			return null;
+		}
+
+		try {
+			return mapper.readValue(body, responseType);
+		} catch (final IOException e) {
+			throw new CompletionException(new ArrowheadException("Could not parse the response of " + method.name() + " " + uri.toUriString() + ": " + e.getMessage(), e));
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the core systems answer with an error message DTO
+	private String getErrorMessage(final HttpMethod method, final UriComponents uri, final int status, final byte[] body) {
+		try {
+			final JsonNode error = mapper.readTree(body);
+			if (error != null && error.hasNonNull("errorMessage")) {
+				return error.get("errorMessage").asText();
+			}
+		} catch (final IOException e) {
+			// not an error message DTO
+		}
+		return method.name() + " " + uri.toUriString() + " failed with status " + status;
+	}
+
+	//=================================================================================================
+	// nested classes
+
+	//-------------------------------------------------------------------------------------------------
+	/**
+	 * Checks the certificate chain against the trust store but not the host name: the host name is only verified by an X509ExtendedTrustManager
+	 * when the socket or engine is given, so every check is passed on without it.
+	 */
+	private static final class ChainOnlyTrustManager extends X509ExtendedTrustManager {
+
+		//=================================================================================================
+		// members
+
+		private final X509TrustManager delegate;
+
+		//=================================================================================================
+		// methods
+
+		//-------------------------------------------------------------------------------------------------
+		private ChainOnlyTrustManager(final X509TrustManager delegate) {
+			this.delegate = delegate;
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public void checkClientTrusted(final X509Certificate[] chain, final String authType) throws CertificateException {
+			delegate.checkClientTrusted(chain, authType);
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public void checkServerTrusted(final X509Certificate[] chain, final String authType) throws CertificateException {
+			delegate.checkServerTrusted(chain, authType);
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public void checkClientTrusted(final X509Certificate[] chain, final String authType, final Socket socket) throws CertificateException {
+			delegate.checkClientTrusted(chain, authType);
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public void checkServerTrusted(final X509Certificate[] chain, final String authType, final Socket socket) throws CertificateException {
+			delegate.checkServerTrusted(chain, authType);
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public void checkClientTrusted(final X509Certificate[] chain, final String authType, final SSLEngine engine) throws CertificateException {
+			delegate.checkClientTrusted(chain, authType);
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public void checkServerTrusted(final X509Certificate[] chain, final String authType, final SSLEngine engine) throws CertificateException {
+			delegate.checkServerTrusted(chain, authType);
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public X509Certificate[] getAcceptedIssuers() {
+			return delegate.getAcceptedIssuers();
+		}
+	}
+}
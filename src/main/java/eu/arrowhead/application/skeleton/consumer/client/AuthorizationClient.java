@@ -0,0 +1,192 @@
+package eu.arrowhead.application.skeleton.consumer.client;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.util.UriComponents;
+
+import eu.arrowhead.application.skeleton.consumer.ConsumerConstants;
+import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudListResponseDTO;
+import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudRequestDTO;
+import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudResponseDTO;
+import eu.arrowhead.application.skeleton.consumer.metrics.RunMetrics;
+import eu.arrowhead.common.Utilities;
+import eu.arrowhead.common.exception.ArrowheadException;
+
+public class AuthorizationClient {
+
+	//=================================================================================================
+	// members
+
+	private final Logger logger = LogManager.getLogger(AuthorizationClient.class);
+
+	private final HttpServiceClient httpService;
+	private final PagedFetcher pagedFetcher;
+	private final RunMetrics metrics;
+	private final AsyncHttpTransport asyncTransport; // null in blocking mode
+	private final Map<String, String> authorizationUri;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public AuthorizationClient(final HttpServiceClient httpService, final PagedFetcher pagedFetcher, final RunMetrics metrics, final Map<String, String> authorizationUri) {
+		this(httpService, pagedFetcher, metrics, null, authorizationUri);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public AuthorizationClient(final HttpServiceClient httpService, final PagedFetcher pagedFetcher, final RunMetrics metrics, final AsyncHttpTransport asyncTransport,
+							   final Map<String, String> authorizationUri) {
+		this.httpService = httpService;
+		this.pagedFetcher = pagedFetcher;
+		this.metrics = metrics;
+		this.asyncTransport = asyncTransport;
+		this.authorizationUri = authorizationUri;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public boolean isAsync() {
+		return asyncTransport != null;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public long fetchRules(final Consumer<List<AuthorizationIntraCloudResponseDTO>> pageConsumer) {
+		logger.debug("Get authorization rules request started...");
+		final long count = isAsync() ? pagedFetcher.fetchAsync(this::getRulesPageAsync, pageConsumer) : pagedFetcher.fetch(this::getRulesPage, pageConsumer);
+		metrics.increment(RunMetrics.COUNTER_AUTHORIZATIONS_FETCHED, count);
+		if (count == 0) {
+			logger.debug("No current authorization were found.");
+		}
+		return count;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void deleteRule(final long id) {
+		logger.debug("Removing authorization rule with id: " + id);
+		final String response = metrics.timeOperation(RunMetrics.OPERATION_RULE_DELETE,
+				() -> httpService.consumeServiceHTTP(String.class, HttpMethod.DELETE, createURI(ConsumerConstants.OP_AUTH_INTRA_CLOUD + "/" + Long.toString(id)), null, null));
+		metrics.increment(RunMetrics.COUNTER_AUTHORIZATIONS_DELETED, 1);
+		logger.debug("Http DELETE response: " + response);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// rethrows the errors after which applying further rules makes no sense
+	// returns the created entries (empty if the rule could not be applied)
+	public List<AuthorizationIntraCloudResponseDTO> addRule(final AuthorizationIntraCloudRequestDTO ruleToAdd) {
+		logger.debug("Sending the POST request for the following authorization rule: " + ruleToAdd.toString());
+		AuthorizationIntraCloudListResponseDTO response = null;
+		try {
+			response = metrics.timeOperation(RunMetrics.OPERATION_RULE_ADD,
+					() -> httpService.consumeServiceHTTP(AuthorizationIntraCloudListResponseDTO.class, HttpMethod.POST, createURI(ConsumerConstants.OP_AUTH_INTRA_CLOUD), null, ruleToAdd));
+		} catch (final ArrowheadException ae) {
+			if (isRejected(ruleToAdd, ae)) {
+				return List.of();
+			}
+		}
+
+		return getCreatedEntries(ruleToAdd, response);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// non-blocking DELETE (async mode only)
+	public CompletableFuture<Void> deleteRuleAsync(final long id) {
+		logger.debug("Removing authorization rule with id: " + id);
+		return metrics.timeOperationAsync(RunMetrics.OPERATION_RULE_DELETE,
+										  () -> asyncTransport.send(String.class, HttpMethod.DELETE, createURI(ConsumerConstants.OP_AUTH_INTRA_CLOUD + "/" + Long.toString(id)), null))
+					  .thenAccept(response -> {
+						  metrics.increment(RunMetrics.COUNTER_AUTHORIZATIONS_DELETED, 1);
+						  logger.debug("Http DELETE response: " + response);
+					  });
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// non-blocking POST (async mode only) with the same error handling as addRule
+	public CompletableFuture<List<AuthorizationIntraCloudResponseDTO>> addRuleAsync(final AuthorizationIntraCloudRequestDTO ruleToAdd) {
+		logger.debug("Sending the POST request for the following authorization rule: " + ruleToAdd.toString());
+		return metrics.timeOperationAsync(RunMetrics.OPERATION_RULE_ADD,
+										  () -> asyncTransport.send(AuthorizationIntraCloudListResponseDTO.class, HttpMethod.POST, createURI(ConsumerConstants.OP_AUTH_INTRA_CLOUD), ruleToAdd))
+					  .handle((response, error) -> {
+						  if (error == null) {
+							  return getCreatedEntries(ruleToAdd, response);
+						  }
+
+						  final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+						  if (!(cause instanceof ArrowheadException)) {
+							  throw new CompletionException(cause);
+						  }
+						  if (isRejected(ruleToAdd, (ArrowheadException) cause)) {
+							  return List.of();
+						  }
+						  return getCreatedEntries(ruleToAdd, null);
+					  });
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private AuthorizationIntraCloudListResponseDTO getRulesPage(final int page) {
+		final AuthorizationIntraCloudListResponseDTO response = metrics.timeOperation(RunMetrics.OPERATION_RULES_PAGE, () -> httpService.consumeServiceHTTP(AuthorizationIntraCloudListResponseDTO.class,
+				HttpMethod.GET, createURI(ConsumerConstants.OP_AUTH_INTRA_CLOUD, pagedFetcher.getPageParameters(page)), null, null));
+
+		if (response == null) {
+			logger.error("Getting the authorization rules was unsuccessful!");
+			throw new ArrowheadException("Existing authorization rules cannot be fetched.");
+		}
+		return response;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private CompletableFuture<AuthorizationIntraCloudListResponseDTO> getRulesPageAsync(final int page) {
+		return metrics.timeOperationAsync(RunMetrics.OPERATION_RULES_PAGE, () -> asyncTransport.send(AuthorizationIntraCloudListResponseDTO.class, HttpMethod.GET,
+										  createURI(ConsumerConstants.OP_AUTH_INTRA_CLOUD, pagedFetcher.getPageParameters(page)), null))
+					  .thenApply(response -> {
+						  if (response == null) {
+							  logger.error("Getting the authorization rules was unsuccessful!");
+							  throw new ArrowheadException("Existing authorization rules cannot be fetched.");
+						  }
+						  return response;
+					  });
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// returns true if the rule was rejected (400) and the remaining rules can still be applied; rethrows the errors after which
+	// applying further rules makes no sense
+	private boolean isRejected(final AuthorizationIntraCloudRequestDTO ruleToAdd, final ArrowheadException ae) {
+		if (ae.getErrorCode() == HttpStatus.BAD_REQUEST.value()) {
+			metrics.increment(RunMetrics.COUNTER_ADD_REQUESTS_REJECTED, 1);
+			logger.error("Error 400 occured while applying authorization rule: " + ruleToAdd.toString() + ", reason: " + ae.getMessage());
+			return true;
+		}
+		if (ae.getErrorCode() == HttpStatus.INTERNAL_SERVER_ERROR.value() || ae.getErrorCode() == HttpStatus.UNAUTHORIZED.value()) {
+			logger.error("Error " + ae.getErrorCode() + " occured while applying authorization rule: " + ruleToAdd.toString() + ", reason: " + ae.getMessage());
+			throw ae;
+		}
+		return false;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private List<AuthorizationIntraCloudResponseDTO> getCreatedEntries(final AuthorizationIntraCloudRequestDTO ruleToAdd, final AuthorizationIntraCloudListResponseDTO response) {
+		if (response == null) {
+			logger.error("Could not apply the following authorization rule: " + ruleToAdd.toString());
+			return List.of();
+		}
+
+		metrics.increment(RunMetrics.COUNTER_AUTHORIZATIONS_ADDED, response.getData().size());
+		logger.debug("Successfully applied " + response.getData().size() + " rule(s) with request: " + ruleToAdd.toString());
+		return response.getData();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private UriComponents createURI(final String operation, final String... queryParams) {
+		return Utilities.createURI(authorizationUri.get(ConsumerConstants.SCHEME), authorizationUri.get(ConsumerConstants.HOST), Integer.parseInt(authorizationUri.get(ConsumerConstants.PORT)),
+								   authorizationUri.get(ConsumerConstants.PATH) + operation, queryParams);
+	}
+}
@@ -0,0 +1,18 @@
+package eu.arrowhead.application.skeleton.consumer.client;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.util.UriComponents;
+
+/**
+ * The blocking HTTP call of the Service Registry and Authorization clients, served either by the library's ArrowheadService
+ * (LibraryHttpServiceClient) or by the tool's own pooled HTTP client (PooledHttpServiceClient).
+ * Errors are thrown as ArrowheadExceptions with the HTTP status as error code.
+ */
+public interface HttpServiceClient {
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public <T, P> T consumeServiceHTTP(final Class<T> responseType, final HttpMethod httpMethod, final UriComponents uri, final String token, final P payload, final String... metadata);
+}
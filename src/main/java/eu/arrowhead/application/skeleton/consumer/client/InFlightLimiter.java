@@ -0,0 +1,100 @@
+package eu.arrowhead.application.skeleton.consumer.client;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.springframework.util.Assert;
+
+/**
+ * Caps the number of asynchronous tasks in flight without blocking any thread: a task that exceeds the cap is queued and started
+ * when a running one completes.
+ */
+public class InFlightLimiter {
+
+	//=================================================================================================
+	// members
+
+	private final int maxInFlight;
+	private final Queue<Runnable> waiting = new ArrayDeque<>();
+	private int inFlight = 0;
+	private boolean draining = false;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public InFlightLimiter(final int maxInFlight) {
+		Assert.isTrue(maxInFlight > 0, "The number of requests in flight must be positive!");
+		this.maxInFlight = maxInFlight;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public <T> CompletableFuture<T> submit(final Supplier<CompletableFuture<T>> task) {
+		final CompletableFuture<T> result = new CompletableFuture<>();
+		final Runnable start = () -> {
+			CompletableFuture<T> future;
+			try {
+				future = task.get();
+			} catch (final RuntimeException e) {
+				future = CompletableFuture.failedFuture(e);
+			}
+
+			future.whenComplete((value, error) -> {
+				release();
+				if (error != null) {
+					result.completeExceptionally(error);
+				} else {
+					result.complete(value);
+				}
+			});
+		};
+
+		synchronized (this) {
+			waiting.add(start);
+		}
+		drain();
+
+		return result;
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private void release() {
+		synchronized (this) {
+			--inFlight;
+		}
+		drain();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// starts waiting tasks while there are free slots; only one thread drains at a time, so tasks completing synchronously
+	// (e.g. skipped ones) do not recurse into each other
+	private void drain() {
+		while (true) {
+			final Runnable next;
+			synchronized (this) {
+				if (draining) {
+					return;
+				}
+				if (waiting.isEmpty() || inFlight >= maxInFlight) {
+					return;
+				}
+				next = waiting.poll();
+				++inFlight;
+				draining = true;
+			}
+
+			try {
+				next.run();
+			} finally {
+				synchronized (this) {
+					draining = false;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package eu.arrowhead.application.skeleton.consumer.client;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.util.Assert;
+import org.springframework.web.util.UriComponents;
+
+import ai.aitia.arrowhead.application.library.ArrowheadService;
+
+/**
+ * Sends the blocking calls through the library's HTTP client, with the stores of application.properties.
+ */
+public class LibraryHttpServiceClient implements HttpServiceClient {
+
+	//=================================================================================================
+	// members
+
+	private final ArrowheadService arrowheadService;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public LibraryHttpServiceClient(final ArrowheadService arrowheadService) {
+		Assert.notNull(arrowheadService, "The Arrowhead service is null!");
+		this.arrowheadService = arrowheadService;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public <T, P> T consumeServiceHTTP(final Class<T> responseType, final HttpMethod httpMethod, final UriComponents uri, final String token, final P payload, final String... metadata) {
+		return arrowheadService.consumeServiceHTTP(responseType, httpMethod, uri, token, payload, metadata);
+	}
+}
@@ -0,0 +1,152 @@
+package eu.arrowhead.application.skeleton.consumer.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.util.Assert;
+
+import eu.arrowhead.application.skeleton.consumer.ConsumerConstants;
+import eu.arrowhead.application.skeleton.consumer.data.ListResponseDTO;
+import eu.arrowhead.common.exception.ArrowheadException;
+
+/**
+ * Pages through a management list endpoint. The first page tells the total number of elements and the page size actually used by the endpoint
+ * (which may cap the requested one); the remaining pages are fetched concurrently
+ * and each page is handed to the page consumer as soon as it arrives, so the complete list is never held in memory.
+ * The page consumer may be called from multiple threads at the same time.
+ */
+public class PagedFetcher {
+
+	//=================================================================================================
+	// members
+
+	private final Logger logger = LogManager.getLogger(PagedFetcher.class);
+
+	private final int pageSize; // requested; the endpoint may return smaller pages
+	private final int parallelism;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public PagedFetcher(final int pageSize, final int parallelism) {
+		Assert.isTrue(pageSize > 0, "The page size must be positive!");
+		Assert.isTrue(parallelism > 0, "The page fetch parallelism must be positive!");
+		this.pageSize = pageSize;
+		this.parallelism = parallelism;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// query parameters of the given page; the elements are ordered by id so the pages do not overlap
+	public String[] getPageParameters(final int page) {
+		return new String[] { ConsumerConstants.REQUEST_PARAM_PAGE, String.valueOf(page),
+							  ConsumerConstants.REQUEST_PARAM_ITEM_PER_PAGE, String.valueOf(pageSize),
+							  ConsumerConstants.REQUEST_PARAM_SORT_FIELD, ConsumerConstants.SORT_FIELD_ID,
+							  ConsumerConstants.REQUEST_PARAM_DIRECTION, ConsumerConstants.SORT_DIRECTION_ASC };
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// returns the total number of elements reported by the endpoint
+	public <T> long fetch(final IntFunction<? extends ListResponseDTO<T>> pageRequest, final Consumer<List<T>> pageConsumer) {
+		final ListResponseDTO<T> first = pageRequest.apply(0);
+		final AtomicLong fetched = new AtomicLong();
+		final Consumer<List<T>> countingConsumer = counting(pageConsumer, fetched);
+		countingConsumer.accept(first.getData());
+
+		final int pageCount = getPageCount(first);
+		if (pageCount > 1) {
+			final ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, pageCount - 1));
+			try {
+				final List<CompletableFuture<Void>> futures = new ArrayList<>(pageCount - 1);
+				for (int page = 1; page < pageCount; ++page) {
+					final int pageNumber = page;
+					futures.add(CompletableFuture.runAsync(() -> countingConsumer.accept(pageRequest.apply(pageNumber).getData()), pool));
+				}
+
+				join(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])));
+			} finally {
+				pool.shutdownNow();
+			}
+		}
+
+		checkFetched(first.getCount(), fetched.get());
+		return first.getCount();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// same as fetch, but with non-blocking page requests: at most 'parallelism' pages are in flight and no thread waits for them
+	public <T> long fetchAsync(final IntFunction<CompletableFuture<? extends ListResponseDTO<T>>> pageRequest, final Consumer<List<T>> pageConsumer) {
+		final ListResponseDTO<T> first = join(pageRequest.apply(0));
+		final AtomicLong fetched = new AtomicLong();
+		final Consumer<List<T>> countingConsumer = counting(pageConsumer, fetched);
+		countingConsumer.accept(first.getData());
+
+		final int pageCount = getPageCount(first);
+		if (pageCount > 1) {
+			final InFlightLimiter limiter = new InFlightLimiter(parallelism);
+			final List<CompletableFuture<Void>> futures = new ArrayList<>(pageCount - 1);
+			for (int page = 1; page < pageCount; ++page) {
+				final int pageNumber = page;
+				futures.add(limiter.submit(() -> pageRequest.apply(pageNumber).thenAccept(response -> countingConsumer.accept(response.getData()))));
+			}
+
+			join(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])));
+		}
+
+		checkFetched(first.getCount(), fetched.get());
+		return first.getCount();
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	// the endpoints cap item_per_page, so the real page size is the size of the first page, not the requested one
+	private int getPageCount(final ListResponseDTO<?> first) {
+		final int firstSize = first.getData().size();
+		if (firstSize >= first.getCount() || firstSize == 0) {
+			return 1; // everything fit into the first page, or nothing can be paged (checkFetched reports a missing remainder)
+		}
+		if (firstSize < pageSize) {
+			logger.debug("The endpoint returned " + firstSize + " elements per page instead of the requested " + pageSize + ".");
+		}
+		return (int) ((first.getCount() + firstSize - 1) / firstSize);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private <T> Consumer<List<T>> counting(final Consumer<List<T>> pageConsumer, final AtomicLong fetched) {
+		return data -> {
+			fetched.addAndGet(data.size());
+			pageConsumer.accept(data);
+		};
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the list changed while it was being paged through (or the endpoint pages differently): the result would silently miss or repeat elements
+	private void checkFetched(final long count, final long fetched) {
+		if (fetched != count) {
+			throw new ArrowheadException("The endpoint reported " + count + " elements, but " + fetched + " were fetched (was the list modified meanwhile?)");
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private <T> T join(final CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package eu.arrowhead.application.skeleton.consumer.client;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.util.UriComponents;
+
+/**
+ * Sends the blocking calls through an AsyncHttpTransport instead of the library's HTTP client, so the mutual-TLS
+ * connections are kept alive and reused between the calls (the library's client performs a new handshake for almost every call).
+ * Error responses are thrown as ArrowheadExceptions with the HTTP status as error code, like in the library; transport failures (connection, I/O,
+ * timeout) are rethrown unwrapped, not as ArrowheadExceptions, so AuthorizationClient.addRule stops the run on them instead of only skipping the rule.
+ */
+public class PooledHttpServiceClient implements HttpServiceClient {
+
+	//=================================================================================================
+	// members
+
+	private final AsyncHttpTransport transport;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public PooledHttpServiceClient(final AsyncHttpTransport transport) {
+		this.transport = transport;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the token and the metadata are not used by the core system management services
+	@Override
+	public <T, P> T consumeServiceHTTP(final Class<T> responseType, final HttpMethod httpMethod, final UriComponents uri, final String token, final P payload, final String... metadata) {
+		try {
+			return transport.send(responseType, httpMethod, uri, payload).join();
+		} catch (final CompletionException e) {
+			final Throwable cause = e.getCause() != null ? e.getCause() : e;
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause; // the ArrowheadExceptions of the error responses as well
+			}
+			if (cause instanceof IOException) {
+				throw new UncheckedIOException(httpMethod.name() + " " + uri.toUriString() + " failed: " + cause.getMessage(), (IOException) cause);
+			}
+			throw e;
+		}
+	}
+}
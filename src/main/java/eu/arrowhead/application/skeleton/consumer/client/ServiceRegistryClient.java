@@ -0,0 +1,141 @@
+package eu.arrowhead.application.skeleton.consumer.client;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpMethod;
+
+import eu.arrowhead.application.skeleton.consumer.ConsumerConstants;
+import eu.arrowhead.application.skeleton.consumer.cache.ListStamp;
+import eu.arrowhead.application.skeleton.consumer.cache.RegistrySnapshot;
+import eu.arrowhead.application.skeleton.consumer.data.ServiceDefinitionsListResponseDTO;
+import eu.arrowhead.application.skeleton.consumer.data.ServiceInterfacesListResponseDTO;
+import eu.arrowhead.application.skeleton.consumer.data.SystemListResponseDTO;
+import eu.arrowhead.application.skeleton.consumer.metrics.RunMetrics;
+import eu.arrowhead.common.CommonConstants;
+import eu.arrowhead.common.Utilities;
+import eu.arrowhead.common.dto.shared.ServiceDefinitionResponseDTO;
+import eu.arrowhead.common.dto.shared.ServiceInterfaceResponseDTO;
+import eu.arrowhead.common.dto.shared.SystemResponseDTO;
+import eu.arrowhead.common.exception.ArrowheadException;
+
+public class ServiceRegistryClient {
+
+	//=================================================================================================
+	// members
+
+	private final Logger logger = LogManager.getLogger(ServiceRegistryClient.class);
+
+	private final HttpServiceClient httpService;
+	private final PagedFetcher pagedFetcher;
+	private final RunMetrics metrics;
+	private final AsyncHttpTransport asyncTransport; // null in blocking mode
+	private final String scheme;
+	private final String address;
+	private final int port;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public ServiceRegistryClient(final HttpServiceClient httpService, final PagedFetcher pagedFetcher, final RunMetrics metrics, final String scheme, final String address, final int port) {
+		this(httpService, pagedFetcher, metrics, null, scheme, address, port);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public ServiceRegistryClient(final HttpServiceClient httpService, final PagedFetcher pagedFetcher, final RunMetrics metrics, final AsyncHttpTransport asyncTransport, final String scheme,
+								 final String address, final int port) {
+		this.httpService = httpService;
+		this.pagedFetcher = pagedFetcher;
+		this.metrics = metrics;
+		this.asyncTransport = asyncTransport;
+		this.scheme = scheme;
+		this.address = address;
+		this.port = port;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public long fetchSystems(final Consumer<List<SystemResponseDTO>> pageConsumer) {
+		logger.debug("Get systems request started...");
+		if (asyncTransport != null) {
+			return pagedFetcher.fetchAsync(page -> getPageAsync(SystemListResponseDTO.class, ConsumerConstants.QUERY_GET_SYSTEMS, RunMetrics.OPERATION_SYSTEMS_PAGE, page), pageConsumer);
+		}
+		return pagedFetcher.fetch(page -> getPage(SystemListResponseDTO.class, ConsumerConstants.QUERY_GET_SYSTEMS, RunMetrics.OPERATION_SYSTEMS_PAGE, page), pageConsumer);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public long fetchServices(final Consumer<List<ServiceDefinitionResponseDTO>> pageConsumer) {
+		logger.debug("Get services request started...");
+		if (asyncTransport != null) {
+			return pagedFetcher.fetchAsync(page -> getPageAsync(ServiceDefinitionsListResponseDTO.class, ConsumerConstants.QUERY_GET_SERVICES, RunMetrics.OPERATION_SERVICES_PAGE, page), pageConsumer);
+		}
+		return pagedFetcher.fetch(page -> getPage(ServiceDefinitionsListResponseDTO.class, ConsumerConstants.QUERY_GET_SERVICES, RunMetrics.OPERATION_SERVICES_PAGE, page), pageConsumer);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public long fetchInterfaces(final Consumer<List<ServiceInterfaceResponseDTO>> pageConsumer) {
+		logger.debug("Get interfaces request started...");
+		if (asyncTransport != null) {
+			return pagedFetcher.fetchAsync(page -> getPageAsync(ServiceInterfacesListResponseDTO.class, ConsumerConstants.QUERY_GET_INTERFACES, RunMetrics.OPERATION_INTERFACES_PAGE, page), pageConsumer);
+		}
+		return pagedFetcher.fetch(page -> getPage(ServiceInterfacesListResponseDTO.class, ConsumerConstants.QUERY_GET_INTERFACES, RunMetrics.OPERATION_INTERFACES_PAGE, page), pageConsumer);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// only requests the most recently updated element of each list, which is enough to tell whether a snapshot is still fresh
+	public RegistrySnapshot probe() {
+		logger.debug("Registry freshness check started...");
+		final SystemListResponseDTO systems = getLatest(SystemListResponseDTO.class, ConsumerConstants.QUERY_GET_SYSTEMS);
+		final ServiceDefinitionsListResponseDTO services = getLatest(ServiceDefinitionsListResponseDTO.class, ConsumerConstants.QUERY_GET_SERVICES);
+		final ServiceInterfacesListResponseDTO interfaces = getLatest(ServiceInterfacesListResponseDTO.class, ConsumerConstants.QUERY_GET_INTERFACES);
+
+		return new RegistrySnapshot(new ListStamp(systems.getCount(), systems.getData().isEmpty() ? null : systems.getData().get(0).getUpdatedAt()),
+									new ListStamp(services.getCount(), services.getData().isEmpty() ? null : services.getData().get(0).getUpdatedAt()),
+									new ListStamp(interfaces.getCount(), interfaces.getData().isEmpty() ? null : interfaces.getData().get(0).getUpdatedAt()));
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private <T> T getLatest(final Class<T> responseType, final String query) {
+		final T response = metrics.timeOperation(RunMetrics.OPERATION_REGISTRY_PROBE, () -> httpService.consumeServiceHTTP(responseType, HttpMethod.GET,
+				Utilities.createURI(scheme, address, port, CommonConstants.SERVICEREGISTRY_URI + query,
+									ConsumerConstants.REQUEST_PARAM_PAGE, "0", ConsumerConstants.REQUEST_PARAM_ITEM_PER_PAGE, "1",
+									ConsumerConstants.REQUEST_PARAM_SORT_FIELD, ConsumerConstants.SORT_FIELD_UPDATED_AT,
+									ConsumerConstants.REQUEST_PARAM_DIRECTION, ConsumerConstants.SORT_DIRECTION_DESC),
+				null, null));
+
+		if (response == null) {
+			throw new ArrowheadException("Service Registry query " + query + " returned no data.");
+		}
+		return response;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private <T> T getPage(final Class<T> responseType, final String query, final String operation, final int page) {
+		final T response = metrics.timeOperation(operation, () -> httpService.consumeServiceHTTP(responseType, HttpMethod.GET,
+				Utilities.createURI(scheme, address, port, CommonConstants.SERVICEREGISTRY_URI + query, pagedFetcher.getPageParameters(page)),
+				null, null));
+
+		if (response == null) {
+			throw new ArrowheadException("Service Registry query " + query + " returned no data (page " + page + ").");
+		}
+		return response;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private <T> CompletableFuture<T> getPageAsync(final Class<T> responseType, final String query, final String operation, final int page) {
+		return metrics.timeOperationAsync(operation, () -> asyncTransport.send(responseType, HttpMethod.GET,
+										  Utilities.createURI(scheme, address, port, CommonConstants.SERVICEREGISTRY_URI + query, pagedFetcher.getPageParameters(page)), null))
+					  .thenApply(response -> {
+						  if (response == null) {
+							  throw new ArrowheadException("Service Registry query " + query + " returned no data (page " + page + ").");
+						  }
+						  return response;
+					  });
+	}
+}
@@ -0,0 +1,66 @@
+package eu.arrowhead.application.skeleton.consumer.cloud;
+
+import java.io.Closeable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import eu.arrowhead.application.skeleton.consumer.client.AsyncHttpTransport;
+import eu.arrowhead.application.skeleton.consumer.client.HttpServiceClient;
+
+/**
+ * The HTTP clients and the fetch threads used to update one cloud. Every cloud has its own set, so the connections, the TLS sessions
+ * and the threads of a slow or failing cloud never affect the others.
+ */
+public class CloudClients implements Closeable {
+
+	//=================================================================================================
+	// members
+
+	private static final int FETCH_THREADS = 4; // one thread runs the registry loader, the others its (independent) list fetches
+
+	private final AsyncHttpTransport httpTransport;
+	private final AsyncHttpTransport asyncTransport;
+	private final HttpServiceClient httpService;
+	private final ExecutorService fetchPool = Executors.newFixedThreadPool(FETCH_THREADS);
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	// httpTransport: the tool's own HTTP client (null if not used), asyncTransport: the same if the non-blocking calls are enabled (otherwise null),
+	// httpService: the service of the blocking calls
+	public CloudClients(final AsyncHttpTransport httpTransport, final AsyncHttpTransport asyncTransport, final HttpServiceClient httpService) {
+		this.httpTransport = httpTransport;
+		this.asyncTransport = asyncTransport;
+		this.httpService = httpService;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public AsyncHttpTransport getHttpTransport() {
+		return httpTransport;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public AsyncHttpTransport getAsyncTransport() {
+		return asyncTransport;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public HttpServiceClient getHttpService() {
+		return httpService;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public ExecutorService getFetchPool() {
+		return fetchPool;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public void close() {
+		fetchPool.shutdownNow();
+		if (httpTransport != null) {
+			httpTransport.close();
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package eu.arrowhead.application.skeleton.consumer.cloud;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import eu.arrowhead.application.skeleton.consumer.data.CloudTarget;
+
+/**
+ * Reads the list of the target clouds (clouds_file). Every cloud needs a unique name (it is used in log messages and in the names
+ * of the per-cloud journal, snapshot and report files) and a Service Registry endpoint; the stores and the rules are optional.
+ */
+public class CloudTargetReader {
+
+	//=================================================================================================
+	// members
+
+	private static final Pattern CLOUD_NAME = Pattern.compile("[A-Za-z0-9_.-]+");
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public List<CloudTarget> readAll(final Path file) throws IOException {
+		final List<CloudTarget> clouds;
+		try {
+			clouds = mapper.readValue(file.toFile(), new TypeReference<List<CloudTarget>>() {});
+		} catch (final JsonProcessingException e) {
+			throw new IOException(file + ": could not read the target clouds (invalid json format): " + e.getOriginalMessage(), e);
+		}
+
+		if (clouds == null || clouds.isEmpty()) {
+			throw new IOException(file + ": no target cloud is defined");
+		}
+
+		final Set<String> names = new HashSet<>();
+		for (final CloudTarget cloud : clouds) {
+			validate(file, cloud);
+			if (!names.add(cloud.getName())) {
+				throw new IOException(file + ": duplicate cloud name: " + cloud.getName());
+			}
+		}
+		return clouds;
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private void validate(final Path file, final CloudTarget cloud) throws IOException {
+		if (cloud.getName() == null || !CLOUD_NAME.matcher(cloud.getName()).matches()) {
+			throw new IOException(file + ": invalid cloud name: " + cloud.getName() + " (letters, digits, '_', '.' and '-' are allowed)");
+		}
+		if (cloud.getSrAddress() == null || cloud.getSrAddress().isBlank()) {
+			throw new IOException(file + ": the Service Registry address of cloud " + cloud.getName() + " is missing");
+		}
+		if (cloud.getSrPort() <= 0 || cloud.getSrPort() > 65535) {
+			throw new IOException(file + ": invalid Service Registry port of cloud " + cloud.getName() + ": " + cloud.getSrPort());
+		}
+		if (cloud.hasOwnStores() && (cloud.getKeyStore() == null || cloud.getTrustStore() == null || cloud.getKeyStorePassword() == null || cloud.getTrustStorePassword() == null)) {
+			throw new IOException(file + ": cloud " + cloud.getName() + " must define both stores with their passwords (keyStore, keyStorePassword, trustStore, trustStorePassword)");
+		}
+		if (cloud.getRules() != null && cloud.getRules().isEmpty()) {
+			throw new IOException(file + ": the rules of cloud " + cloud.getName() + " are empty (omit the field to use the rules given on the command line)");
+		}
+	}
+}
@@ -0,0 +1,171 @@
+package eu.arrowhead.application.skeleton.consumer.daemon;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import eu.arrowhead.application.skeleton.consumer.apply.AuthRuleOperations;
+import eu.arrowhead.application.skeleton.consumer.apply.AuthRuleUpdater;
+import eu.arrowhead.application.skeleton.consumer.cache.RuleExpansionCache;
+import eu.arrowhead.application.skeleton.consumer.cache.RegistrySnapshot;
+import eu.arrowhead.application.skeleton.consumer.client.ServiceRegistryClient;
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+import eu.arrowhead.application.skeleton.consumer.resolver.RegistryLoader;
+import eu.arrowhead.application.skeleton.consumer.rule.AuthRuleNormalizer;
+import eu.arrowhead.application.skeleton.consumer.rule.AuthorizationState;
+import eu.arrowhead.application.skeleton.consumer.rule.ExpandedRules;
+import eu.arrowhead.application.skeleton.consumer.rule.RuleFileSet;
+
+/**
+ * Keeps the registry indexes and the authorization state in memory and applies the changes of the rules files (or the rule sets and deltas
+ * received by the service mode) as they happen. On every change the new rules are reconciled against the in-memory state, so only the delta
+ * is sent to the Authorization system; the consumers that disappeared from the rules stay in scope for that round, so their entries are
+ * removed as well. The registry indexes are only rebuilt when the freshness check shows that the registry changed.
+ * The stored rule expansions of the incremental runs no longer describe the entries once a change is applied, so they are deleted.
+ * The updates are serialized, whatever their source.
+ */
+public class AuthRuleDaemon {
+
+	//=================================================================================================
+	// members
+
+	private final Logger logger = LogManager.getLogger(AuthRuleDaemon.class);
+
+	private final AuthRuleUpdater updater;
+	private final AuthorizationState state;
+	private final ServiceRegistryClient serviceRegistryClient;
+	private final RegistryLoader registryLoader;
+	private final RuleExpansionCache expansionCache; // null if the incremental runs are disabled
+
+	private List<AuthRule> rules;
+	private Set<Long> managedConsumerIds;
+	private RegistrySnapshot registryStamp;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public AuthRuleDaemon(final AuthRuleUpdater updater, final AuthorizationState state, final List<AuthRule> rules, final Set<Long> managedConsumerIds,
+						  final ServiceRegistryClient serviceRegistryClient, final RegistryLoader registryLoader, final RuleExpansionCache expansionCache) {
+		this.updater = updater;
+		this.state = state;
+		this.rules = List.copyOf(rules);
+		this.managedConsumerIds = managedConsumerIds;
+		this.serviceRegistryClient = serviceRegistryClient;
+		this.registryLoader = registryLoader;
+		this.expansionCache = expansionCache;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// takes the stamp of the registry data in memory; must be called before the first update
+	public synchronized void start() {
+		registryStamp = updater.getResolver().getRegistryStamp();
+		if (registryStamp == null) {
+			registryStamp = probeRegistry();
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// blocks until the current thread is interrupted
+	public void watch(final RuleFileSet ruleFiles, final long debounceMillis) throws IOException, InterruptedException {
+		logger.info("Watching " + ruleFiles + " for changes...");
+		new RulesFileWatcher(ruleFiles.getDirectories(), ruleFiles::matches, debounceMillis).watch(() -> onChange(ruleFiles));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public synchronized List<AuthRule> getRules() {
+		return rules;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// replaces the whole rule set; returns the operations sent to the Authorization system and whether every one of them succeeded
+	public synchronized UpdateResult update(final List<AuthRule> newRules) throws Exception {
+		refreshRegistryIfChanged();
+
+		final ExpandedRules desired = updater.expand(newRules);
+		final AuthRuleOperations operations = updater.planReconciliation(desired, managedConsumerIds, state);
+		if (operations.getDeleteCount() > 0 || operations.getAddCount() > 0) {
+			invalidateExpansions();
+		}
+		final boolean success = updater.apply(operations, state);
+		rules = List.copyOf(newRules);
+		if (success) {
+			managedConsumerIds = desired.getConsumerIds();
+		} else {
+			// the consumers dropped from the rules stay in scope until their entries are removed
+			final Set<Long> consumerIds = new LinkedHashSet<>(managedConsumerIds);
+			consumerIds.addAll(desired.getConsumerIds());
+			managedConsumerIds = consumerIds;
+			logger.error("Some operations of the change could not be applied, they are retried with the next change.");
+		}
+
+		return new UpdateResult(operations, success, rules.size());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// adds the given rules to the current rule set and removes the interfaces of the removed rules from the rules with the same
+	// consumer, provider and service (see AuthRuleNormalizer.subtract), then applies the result like update
+	public synchronized UpdateResult update(final List<AuthRule> addedRules, final List<AuthRule> removedRules) throws Exception {
+		final List<AuthRule> newRules = new ArrayList<>(rules);
+		newRules.addAll(addedRules);
+
+		return update(new AuthRuleNormalizer().subtract(newRules, removedRules));
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	// the locations are resolved again, so files added to (or removed from) a watched directory are taken into account
+	private void onChange(final RuleFileSet ruleFiles) {
+		final List<AuthRule> newRules;
+		try {
+			newRules = ruleFiles.refresh().readAll().getRules();
+		} catch (final IOException e) {
+			logger.error("Ignoring the change of the rules files, reason: " + e.getMessage());
+			return;
+		}
+
+		try {
+			final UpdateResult result = update(newRules);
+			logger.info("Rules file change applied (" + result.getOperations().toString() + ").");
+		} catch (final Exception e) {
+			logger.error("Applying the change of the rules files was unsuccessful, reason: " + e.getMessage());
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void refreshRegistryIfChanged() {
+		final RegistrySnapshot current = probeRegistry();
+		if (current != null && current.equals(registryStamp)) {
+			return;
+		}
+
+		logger.debug("Registry changed, rebuilding the indexes...");
+		updater.setResolver(registryLoader.load());
+		registryStamp = current;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// before the change is applied, so an interrupted change cannot leave stale expansions behind either
+	private void invalidateExpansions() throws IOException {
+		if (expansionCache != null) {
+			expansionCache.invalidate();
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private RegistrySnapshot probeRegistry() {
+		try {
+			return serviceRegistryClient.probe();
+		} catch (final Exception e) {
+			logger.debug("Registry freshness check was unsuccessful, reason: " + e.getMessage());
+			return null;
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package eu.arrowhead.application.skeleton.consumer.daemon;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.springframework.util.Assert;
+
+/**
+ * Watches the rules files with the NIO WatchService. Editors and generators usually touch a file several times while saving it,
+ * so a change is only reported after no further event arrived for the debounce period.
+ * The watched directories are fixed when watching starts; a file created in them is reported if the filter accepts it.
+ */
+public class RulesFileWatcher {
+
+	//=================================================================================================
+	// members
+
+	private final Set<Path> directories;
+	private final Predicate<Path> filter;
+	private final long debounceMillis;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	// the filter gets absolute paths
+	public RulesFileWatcher(final Set<Path> directories, final Predicate<Path> filter, final long debounceMillis) {
+		Assert.notEmpty(directories, "No watched directory is given!");
+		Assert.notNull(filter, "The file filter is null!");
+		Assert.isTrue(debounceMillis >= 0, "The debounce period must not be negative!");
+		this.directories = directories;
+		this.filter = filter;
+		this.debounceMillis = debounceMillis;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// blocks until the current thread is interrupted
+	public void watch(final Runnable onChange) throws IOException, InterruptedException {
+		try (final WatchService watchService = FileSystems.getDefault().newWatchService()) {
+			for (final Path directory : directories) {
+				directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+			}
+
+			while (!Thread.currentThread().isInterrupted()) {
+				if (!isFileChanged(watchService.take())) {
+					continue;
+				}
+
+				// waiting for the writer to finish
+				WatchKey next;
+				while ((next = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+					isFileChanged(next);
+				}
+
+				onChange.run();
+			}
+		}
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private boolean isFileChanged(final WatchKey key) {
+		final Path directory = (Path) key.watchable();
+		boolean result = false;
+		for (final WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW || filter.test(directory.resolve((Path) event.context()))) {
+				result = true;
+			}
+		}
+		key.reset();
+
+		return result;
+	}
+}
@@ -0,0 +1,36 @@
+package eu.arrowhead.application.skeleton.consumer.daemon;
+
+import eu.arrowhead.application.skeleton.consumer.apply.AuthRuleOperations;
+
+public class UpdateResult {
+
+	//=================================================================================================
+	// members
+
+	private final AuthRuleOperations operations;
+	private final boolean success; // false if some operations could not be applied
+	private final int ruleCount; // number of rules in the rule set after the update
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public UpdateResult(final AuthRuleOperations operations, final boolean success, final int ruleCount) {
+		this.operations = operations;
+		this.success = success;
+		this.ruleCount = ruleCount;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public AuthRuleOperations getOperations() {
+		return operations;
+	}
+
+	public boolean isSuccess() {
+		return success;
+	}
+
+	public int getRuleCount() {
+		return ruleCount;
+	}
+}
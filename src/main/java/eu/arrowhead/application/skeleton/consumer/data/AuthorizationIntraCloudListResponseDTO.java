@@ -6,7 +6,7 @@ import java.util.List;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-public class AuthorizationIntraCloudListResponseDTO implements Serializable {
+public class AuthorizationIntraCloudListResponseDTO implements ListResponseDTO<AuthorizationIntraCloudResponseDTO>, Serializable {
 
 	//=================================================================================================
 	// members
@@ -30,10 +30,12 @@ public class AuthorizationIntraCloudListResponseDTO implements Serializable {
 	}
 
 	//-------------------------------------------------------------------------------------------------
+	@Override
 	public List<AuthorizationIntraCloudResponseDTO> getData() {
 		return data;
 	}
 
+	@Override
 	public long getCount() {
 		return count;
 	}
@@ -0,0 +1,135 @@
+package eu.arrowhead.application.skeleton.consumer.data;
+
+import java.util.List;
+
+public class CloudTarget {
+
+	//=================================================================================================
+	// members
+
+	private String name;
+	private String srAddress;
+	private int srPort;
+	private String keyStore;
+	private String keyStorePassword;
+	private String keyPassword;
+	private String trustStore;
+	private String trustStorePassword;
+	private List<String> rules;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public CloudTarget() {
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public CloudTarget(final String name, final String srAddress, final int srPort) {
+		this.name = name;
+		this.srAddress = srAddress;
+		this.srPort = srPort;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public String getName() {
+		return this.name;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public String getSrAddress() {
+		return this.srAddress;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public int getSrPort() {
+		return this.srPort;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public String getKeyStore() {
+		return this.keyStore;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public String getKeyStorePassword() {
+		return this.keyStorePassword;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public String getKeyPassword() {
+		return this.keyPassword;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public String getTrustStore() {
+		return this.trustStore;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public String getTrustStorePassword() {
+		return this.trustStorePassword;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public List<String> getRules() {
+		return this.rules;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void setName(final String name) {
+		this.name = name;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void setSrAddress(final String srAddress) {
+		this.srAddress = srAddress;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void setSrPort(final int srPort) {
+		this.srPort = srPort;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void setKeyStore(final String keyStore) {
+		this.keyStore = keyStore;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void setKeyStorePassword(final String keyStorePassword) {
+		this.keyStorePassword = keyStorePassword;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void setKeyPassword(final String keyPassword) {
+		this.keyPassword = keyPassword;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void setTrustStore(final String trustStore) {
+		this.trustStore = trustStore;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void setTrustStorePassword(final String trustStorePassword) {
+		this.trustStorePassword = trustStorePassword;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void setRules(final List<String> rules) {
+		this.rules = rules;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// true if the cloud is accessed with its own key and trust stores instead of the ones of application.properties
+	public boolean hasOwnStores() {
+		return this.keyStore != null || this.trustStore != null;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String toString() {
+		return name + " (" + srAddress + ":" + srPort + ")";
+	}
+}
@@ -0,0 +1,16 @@
+package eu.arrowhead.application.skeleton.consumer.data;
+
+import java.util.List;
+
+/**
+ * Common shape of the management list responses: one page of data and the total number of elements.
+ */
+public interface ListResponseDTO<T> {
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	List<T> getData();
+	long getCount();
+}
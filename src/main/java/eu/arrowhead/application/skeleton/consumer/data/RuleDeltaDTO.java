@@ -0,0 +1,43 @@
+package eu.arrowhead.application.skeleton.consumer.data;
+
+import java.util.List;
+
+public class RuleDeltaDTO {
+
+	//=================================================================================================
+	// members
+
+	private List<AuthRule> add;
+	private List<AuthRule> remove;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public RuleDeltaDTO() {
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public RuleDeltaDTO(final List<AuthRule> add, final List<AuthRule> remove) {
+		this.add = add;
+		this.remove = remove;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public List<AuthRule> getAdd() {
+		return add;
+	}
+
+	public List<AuthRule> getRemove() {
+		return remove;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void setAdd(final List<AuthRule> add) {
+		this.add = add;
+	}
+
+	public void setRemove(final List<AuthRule> remove) {
+		this.remove = remove;
+	}
+}
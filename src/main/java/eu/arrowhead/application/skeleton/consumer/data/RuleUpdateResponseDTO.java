@@ -0,0 +1,71 @@
+package eu.arrowhead.application.skeleton.consumer.data;
+
+public class RuleUpdateResponseDTO {
+
+	//=================================================================================================
+	// members
+
+	private boolean success;
+	private int ruleCount;
+	private int deletedCount;
+	private int addedCount;
+	private long durationMs;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public RuleUpdateResponseDTO() {
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public RuleUpdateResponseDTO(final boolean success, final int ruleCount, final int deletedCount, final int addedCount, final long durationMs) {
+		this.success = success;
+		this.ruleCount = ruleCount;
+		this.deletedCount = deletedCount;
+		this.addedCount = addedCount;
+		this.durationMs = durationMs;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public boolean isSuccess() {
+		return success;
+	}
+
+	public int getRuleCount() {
+		return ruleCount;
+	}
+
+	public int getDeletedCount() {
+		return deletedCount;
+	}
+
+	public int getAddedCount() {
+		return addedCount;
+	}
+
+	public long getDurationMs() {
+		return durationMs;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void setSuccess(final boolean success) {
+		this.success = success;
+	}
+
+	public void setRuleCount(final int ruleCount) {
+		this.ruleCount = ruleCount;
+	}
+
+	public void setDeletedCount(final int deletedCount) {
+		this.deletedCount = deletedCount;
+	}
+
+	public void setAddedCount(final int addedCount) {
+		this.addedCount = addedCount;
+	}
+
+	public void setDurationMs(final long durationMs) {
+		this.durationMs = durationMs;
+	}
+}
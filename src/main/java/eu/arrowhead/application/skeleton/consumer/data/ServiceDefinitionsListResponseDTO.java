@@ -11,7 +11,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import eu.arrowhead.common.dto.shared.ServiceDefinitionResponseDTO;
 
 @JsonInclude(Include.NON_NULL)
-public class ServiceDefinitionsListResponseDTO implements Serializable {
+public class ServiceDefinitionsListResponseDTO implements ListResponseDTO<ServiceDefinitionResponseDTO>, Serializable {
 
 	//=================================================================================================
 	// members
@@ -35,10 +35,12 @@ public class ServiceDefinitionsListResponseDTO implements Serializable {
 	}
 
 	//-------------------------------------------------------------------------------------------------
+	@Override
 	public List<ServiceDefinitionResponseDTO> getData() {
 		return data;
 	}
 
+	@Override
 	public long getCount() {
 		return count;
 	}
@@ -11,7 +11,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import eu.arrowhead.common.dto.shared.ServiceInterfaceResponseDTO;
 
 @JsonInclude(Include.NON_NULL)
-public class ServiceInterfacesListResponseDTO implements Serializable {
+public class ServiceInterfacesListResponseDTO implements ListResponseDTO<ServiceInterfaceResponseDTO>, Serializable {
 
 	//=================================================================================================
 	// members
@@ -35,10 +35,12 @@ public class ServiceInterfacesListResponseDTO implements Serializable {
 	}
 
 	//-------------------------------------------------------------------------------------------------
+	@Override
 	public List<ServiceInterfaceResponseDTO> getData() {
 		return data;
 	}
 
+	@Override
 	public long getCount() {
 		return count;
 	}
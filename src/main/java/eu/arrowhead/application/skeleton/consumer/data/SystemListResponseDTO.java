@@ -11,7 +11,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import eu.arrowhead.common.dto.shared.SystemResponseDTO;
 
 @JsonInclude(Include.NON_NULL)
-public class SystemListResponseDTO {
+public class SystemListResponseDTO implements ListResponseDTO<SystemResponseDTO> {
 	//=================================================================================================
 	// members
 
@@ -33,10 +33,12 @@ public class SystemListResponseDTO {
 	}
 
 	//-------------------------------------------------------------------------------------------------
+	@Override
 	public List<SystemResponseDTO> getData() {
 		return data;
 	}
 
+	@Override
 	public long getCount() {
 		return count;
 	}
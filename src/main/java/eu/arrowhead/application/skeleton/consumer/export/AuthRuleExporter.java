@@ -0,0 +1,126 @@
+package eu.arrowhead.application.skeleton.consumer.export;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import eu.arrowhead.application.skeleton.consumer.client.AuthorizationClient;
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudResponseDTO;
+import eu.arrowhead.application.skeleton.consumer.resolver.RegistryResolver;
+import eu.arrowhead.application.skeleton.consumer.rule.AuthRuleWriter;
+import eu.arrowhead.common.dto.shared.ServiceInterfaceResponseDTO;
+
+/**
+ * Exports the current authorization entries as a rules file. By default every entry becomes a rule with the system names of the consumer
+ * and the provider, written as soon as its page arrives, so the memory use does not depend on the number of entries. With a collapser
+ * the entries are collected first and written as metadata selectors where possible (see MetadataSelectorCollapser).
+ * A system name selects every system with that name, so the names shared by several systems are logged: their rules may grant more than the entries.
+ * The target file is only replaced if the whole export succeeds.
+ */
+public class AuthRuleExporter {
+
+	//=================================================================================================
+	// members
+
+	private final Logger logger = LogManager.getLogger(AuthRuleExporter.class);
+
+	private final AuthorizationClient authorizationClient;
+	private final Map<String, List<Long>> systemIdsByName;
+	private final MetadataSelectorCollapser collapser; // null: plain export
+	private final Set<String> sharedNames = new TreeSet<>();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public AuthRuleExporter(final AuthorizationClient authorizationClient, final RegistryResolver resolver) {
+		this(authorizationClient, resolver, null);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public AuthRuleExporter(final AuthorizationClient authorizationClient, final RegistryResolver resolver, final MetadataSelectorCollapser collapser) {
+		this.authorizationClient = authorizationClient;
+		this.systemIdsByName = resolver.getSystemIdsByName();
+		this.collapser = collapser;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// returns the number of rules written
+	public long export(final Path file) throws IOException {
+		try (final AuthRuleWriter writer = new AuthRuleWriter(file)) {
+			final long entryCount;
+			if (collapser == null) {
+				entryCount = authorizationClient.fetchRules(page -> write(writer, page));
+			} else {
+				entryCount = authorizationClient.fetchRules(collapser::accept);
+				for (final AuthRule rule : collapser.collapse()) {
+					writer.write(rule);
+				}
+				sharedNames.addAll(collapser.getSharedNames());
+			}
+			writer.commit();
+
+			if (!sharedNames.isEmpty()) {
+				logger.warn("The system name(s) " + sharedNames + " are shared by several systems: the exported rules with these names may also grant systems without "
+							+ "the corresponding authorization entries.");
+			}
+
+			logger.debug(entryCount + " authorization entries exported as " + writer.getCount() + " rule(s).");
+			return writer.getCount();
+		} catch (final UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the system names of the exported rules that may also select systems without the corresponding entries
+	public Set<String> getSharedNames() {
+		return Set.copyOf(sharedNames);
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private void write(final AuthRuleWriter writer, final List<AuthorizationIntraCloudResponseDTO> page) {
+		try {
+			for (final AuthorizationIntraCloudResponseDTO entry : page) {
+				writer.write(toRule(entry));
+			}
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private AuthRule toRule(final AuthorizationIntraCloudResponseDTO entry) {
+		final Set<String> interfaces = new TreeSet<>();
+		if (entry.getInterfaces() != null) {
+			for (final ServiceInterfaceResponseDTO interfaceElement : entry.getInterfaces()) {
+				interfaces.add(interfaceElement.getInterfaceName());
+			}
+		}
+
+		checkSharedName(entry.getConsumerSystem().getSystemName());
+		checkSharedName(entry.getProviderSystem().getSystemName());
+		return new AuthRule(entry.getConsumerSystem().getSystemName(), entry.getProviderSystem().getSystemName(), entry.getServiceDefinition().getServiceDefinition(),
+							new ArrayList<>(interfaces));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the entries are streamed, so it is not known whether the other systems with the name have the same entries
+	private void checkSharedName(final String name) {
+		if (systemIdsByName.getOrDefault(name, List.of()).size() > 1) {
+			sharedNames.add(name);
+		}
+	}
+}
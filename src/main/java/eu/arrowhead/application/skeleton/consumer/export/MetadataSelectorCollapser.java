@@ -0,0 +1,179 @@
+package eu.arrowhead.application.skeleton.consumer.export;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudResponseDTO;
+import eu.arrowhead.application.skeleton.consumer.resolver.MetadataConditions;
+import eu.arrowhead.application.skeleton.consumer.resolver.RegistryResolver;
+import eu.arrowhead.common.dto.shared.ServiceInterfaceResponseDTO;
+
+/**
+ * Turns the authorization entries back into rules with metadata selectors where possible. The entries with the same provider, service
+ * and interfaces are grouped, and the consumers of a group are replaced by the metadata selectors (key=value) whose systems all belong
+ * to the group, largest first; then the same is done with the providers of the resulting rules. The consumers and providers not covered
+ * by a selector keep their system names (as in the plain export). A metadata selector never describes more than the current entries,
+ * but a system name selects every system with that name: the names that also select systems without the entry are reported by getSharedNames.
+ * Unlike the plain export, the ids of every entry are kept in memory until the collapse.
+ */
+public class MetadataSelectorCollapser {
+
+	//=================================================================================================
+	// members
+
+	private static final int MIN_SELECTED_SYSTEMS = 2; // a selector that replaces only one system name is not worth it
+
+	private final Map<Long, String> systemNames = new HashMap<>();
+	private final Map<String, List<Long>> systemIdsByName;
+	private final Map<Long, List<String>> selectorsBySystem = new HashMap<>();
+	private final Map<String, List<Long>> systemsBySelector = new HashMap<>();
+
+	// (provider id, service, interfaces) -> group of the consumer ids
+	private final Map<List<Object>, Group> groups = new LinkedHashMap<>();
+	private final Set<String> sharedNames = new TreeSet<>();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public MetadataSelectorCollapser(final RegistryResolver resolver) {
+		systemIdsByName = resolver.getSystemIdsByName();
+		resolver.getSystemIdsByName().forEach((name, ids) -> {
+			for (final Long id : ids) {
+				systemNames.put(id, name);
+			}
+		});
+		resolver.getSystemIdsByMetadata().forEach((key, idsByValue) -> idsByValue.forEach((value, ids) -> {
+			final String selector = MetadataConditions.format(key, value);
+			systemsBySelector.put(selector, ids);
+			for (final Long id : ids) {
+				selectorsBySystem.computeIfAbsent(id, k -> new ArrayList<>()).add(selector);
+			}
+		}));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public synchronized void accept(final List<AuthorizationIntraCloudResponseDTO> entries) {
+		for (final AuthorizationIntraCloudResponseDTO entry : entries) {
+			final List<String> interfaces = getInterfaceNames(entry);
+			final String service = entry.getServiceDefinition().getServiceDefinition();
+			final long providerId = entry.getProviderSystem().getId();
+			systemNames.putIfAbsent(providerId, entry.getProviderSystem().getSystemName());
+			systemNames.putIfAbsent(entry.getConsumerSystem().getId(), entry.getConsumerSystem().getSystemName());
+
+			groups.computeIfAbsent(List.of(providerId, service, interfaces), k -> new Group(service, interfaces)).systemIds.add(entry.getConsumerSystem().getId());
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public synchronized List<AuthRule> collapse() {
+		// (consumer selector, service, interfaces) -> group of the provider ids
+		final Map<List<Object>, Group> byConsumer = new LinkedHashMap<>();
+		for (final Map.Entry<List<Object>, Group> entry : groups.entrySet()) {
+			final long providerId = (Long) entry.getKey().get(0);
+			final Group group = entry.getValue();
+			for (final String consumer : toSelectors(group.systemIds)) {
+				byConsumer.computeIfAbsent(List.of(consumer, group.service, group.interfaces), k -> new Group(group.service, group.interfaces)).systemIds.add(providerId);
+			}
+		}
+
+		final List<AuthRule> result = new ArrayList<>();
+		for (final Map.Entry<List<Object>, Group> entry : byConsumer.entrySet()) {
+			final String consumer = (String) entry.getKey().get(0);
+			final Group group = entry.getValue();
+			for (final String provider : toSelectors(group.systemIds)) {
+				result.add(new AuthRule(consumer, provider, group.service, group.interfaces));
+			}
+		}
+		return result;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the names used by collapse for a set of systems that some other systems with the same name are not in
+	public synchronized Set<String> getSharedNames() {
+		return Set.copyOf(sharedNames);
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	// the order of the interfaces does not matter
+	private List<String> getInterfaceNames(final AuthorizationIntraCloudResponseDTO entry) {
+		final Set<String> result = new TreeSet<>();
+		if (entry.getInterfaces() != null) {
+			for (final ServiceInterfaceResponseDTO interfaceElement : entry.getInterfaces()) {
+				result.add(interfaceElement.getInterfaceName());
+			}
+		}
+		return List.copyOf(result);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// a selector is only used if every system it selects is in the given set, so it never grants more than the current entries
+	private List<String> toSelectors(final Set<Long> systemIds) {
+		final Set<String> candidates = new TreeSet<>();
+		for (final Long id : systemIds) {
+			candidates.addAll(selectorsBySystem.getOrDefault(id, List.of()));
+		}
+
+		final List<String> ordered = new ArrayList<>(candidates);
+		ordered.sort(Comparator.comparingInt((String selector) -> systemsBySelector.get(selector).size()).reversed());
+
+		final List<String> result = new ArrayList<>();
+		final Set<Long> remaining = new LinkedHashSet<>(systemIds);
+		for (final String selector : ordered) {
+			final List<Long> selected = systemsBySelector.get(selector);
+			if (selected.size() < MIN_SELECTED_SYSTEMS || !systemIds.containsAll(selected)) {
+				continue;
+			}
+
+			int covered = 0;
+			for (final Long id : selected) {
+				if (remaining.contains(id)) {
+					++covered;
+				}
+			}
+			if (covered >= MIN_SELECTED_SYSTEMS) {
+				result.add(selector);
+				remaining.removeAll(selected);
+			}
+		}
+
+		// the systems with the same name are selected by one name, which also selects the systems with that name outside the set
+		final Set<String> names = new LinkedHashSet<>();
+		for (final Long id : remaining) {
+			final String name = systemNames.get(id);
+			if (names.add(name) && !systemIds.containsAll(systemIdsByName.getOrDefault(name, List.of()))) {
+				sharedNames.add(name);
+			}
+		}
+		result.addAll(names);
+		return result;
+	}
+
+	//=================================================================================================
+	// nested classes
+
+	//-------------------------------------------------------------------------------------------------
+	private static final class Group {
+
+		private final String service;
+		private final List<String> interfaces;
+		private final Set<Long> systemIds = new TreeSet<>();
+
+		//-------------------------------------------------------------------------------------------------
+		private Group(final String service, final List<String> interfaces) {
+			this.service = service;
+			this.interfaces = interfaces;
+		}
+	}
+}
@@ -0,0 +1,345 @@
+package eu.arrowhead.application.skeleton.consumer.journal;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import eu.arrowhead.application.skeleton.consumer.apply.AuthRuleOperations;
+import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudRequestDTO;
+
+/**
+ * Append-only journal (JSON lines) of the operations planned for a set of rules files and of the ones already completed.
+ * The plan is made durable before the first operation starts; the completions are synced in batches, so a crash replays at most
+ * the operations completed since the last sync (DELETE and POST are both safe to repeat). The journal is removed when every operation succeeded,
+ * so an existing journal always belongs to an interrupted or failed run. The plan is only resumed for the same rules files and the same registry data
+ * (see RegistryResolver.getContentHash): if the registry changed since, the planned ids may be stale and the journal is discarded for a new plan.
+ */
+public class OperationJournal {
+
+	//=================================================================================================
+	// members
+
+	private static final String FIELD_TYPE = "type";
+	private static final String FIELD_RULES_HASH = "rulesHash";
+	private static final String FIELD_REGISTRY_HASH = "registryHash";
+	private static final String FIELD_CONSUMER_ID = "consumerId";
+	private static final String FIELD_RULE_ID = "ruleId";
+	private static final String FIELD_REQUEST = "request";
+	private static final String FIELD_OPERATION = "op";
+	private static final String TYPE_BEGIN = "begin";
+	private static final String TYPE_DELETE = "delete";
+	private static final String TYPE_ADD = "add";
+	private static final String TYPE_PLANNED = "planned";
+	private static final String TYPE_DONE = "done";
+
+	private final Logger logger = LogManager.getLogger(OperationJournal.class);
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private final Path file;
+	private final int syncBatchSize;
+	private final long syncIntervalMillis;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public OperationJournal(final Path file, final int syncBatchSize, final long syncIntervalMillis) {
+		this.file = file;
+		this.syncBatchSize = Math.max(1, syncBatchSize);
+		this.syncIntervalMillis = syncIntervalMillis;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// SHA-256 of the names and contents of the rules files; a journal is only resumed for the very same files
+	public static String hash(final List<Path> rulesFiles) throws IOException {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			final byte[] buffer = new byte[64 * 1024];
+			for (final Path rulesFile : rulesFiles) {
+				digest.update(rulesFile.toString().getBytes(StandardCharsets.UTF_8));
+				digest.update((byte) 0);
+				try (final InputStream in = Files.newInputStream(rulesFile)) {
+					int read;
+					while ((read = in.read(buffer)) != -1) {
+						digest.update(buffer, 0, read);
+					}
+				}
+				digest.update((byte) 0);
+			}
+			return String.format("%064x", new BigInteger(1, digest.digest()));
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// returns the operations an interrupted run of the same rules file did not complete, or null if there is nothing to resume
+	// (a journal of another rules file, of other registry data or with an incomplete plan is discarded)
+	public AuthRuleOperations loadOutstanding(final String rulesHash, final String registryHash) throws IOException {
+		if (!Files.isRegularFile(file)) {
+			return null;
+		}
+
+		final List<JsonNode> plan = new ArrayList<>();
+		final Set<Integer> done = new HashSet<>();
+		boolean planned = false;
+		String journalHash = null;
+		String journalRegistryHash = null;
+
+		try (final BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				final JsonNode record;
+				try {
+					record = mapper.readTree(line);
+				} catch (final IOException e) {
+					logger.debug("Ignoring the torn end of the operation journal: " + file);
+					break;
+				}
+
+				switch (record.path(FIELD_TYPE).asText()) {
+				case TYPE_BEGIN:
+					journalHash = record.path(FIELD_RULES_HASH).asText();
+					journalRegistryHash = record.path(FIELD_REGISTRY_HASH).asText(null);
+					break;
+				case TYPE_DELETE:
+				case TYPE_ADD:
+					plan.add(record);
+					break;
+				case TYPE_PLANNED:
+					planned = true;
+					break;
+				case TYPE_DONE:
+					done.add(record.path(FIELD_OPERATION).asInt());
+					break;
+				default:
+					throw new IOException("Unknown record in the operation journal " + file + ": " + line);
+				}
+			}
+		}
+
+		// an interrupted plan is never resumed, whatever its rules files were
+		if (journalHash == null || !planned) {
+			logger.info("Discarding the operation journal of an incomplete plan: " + file);
+			discard();
+			return null;
+		}
+		if (!rulesHash.equals(journalHash)) {
+			logger.info("Discarding the operation journal of different rules files: " + file);
+			discard();
+			return null;
+		}
+		if (!registryHash.equals(journalRegistryHash)) {
+			logger.info("Discarding the operation journal planned against different registry data: " + file);
+			discard();
+			return null;
+		}
+
+		final AuthRuleOperations outstanding = new AuthRuleOperations();
+		final List<AuthorizationIntraCloudRequestDTO> adds = new ArrayList<>();
+		for (int i = 0; i < plan.size(); ++i) {
+			if (done.contains(i)) {
+				continue;
+			}
+
+			final JsonNode record = plan.get(i);
+			if (TYPE_DELETE.equals(record.path(FIELD_TYPE).asText())) {
+				outstanding.addDelete(record.path(FIELD_CONSUMER_ID).asLong(), record.path(FIELD_RULE_ID).asLong());
+			} else {
+				adds.add(mapper.treeToValue(record.path(FIELD_REQUEST), AuthorizationIntraCloudRequestDTO.class));
+			}
+		}
+		outstanding.addAdds(adds);
+
+		if (outstanding.getConsumerIds().isEmpty()) {
+			discard();
+			return null;
+		}
+		return outstanding;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// writes the plan (replacing the previous journal atomically) and returns the recorder of the completed operations
+	public Recorder begin(final String rulesHash, final String registryHash, final AuthRuleOperations operations) throws IOException {
+		final Path directory = file.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		final Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+		final Map<Long, Integer> deleteIndexes = new HashMap<>();
+		final Map<AuthorizationIntraCloudRequestDTO, Integer> addIndexes = new IdentityHashMap<>();
+		try {
+			try (final FileOutputStream out = new FileOutputStream(tempFile.toFile());
+				 final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+				writeRecord(writer, record(TYPE_BEGIN, FIELD_RULES_HASH, rulesHash, FIELD_REGISTRY_HASH, registryHash));
+
+				int index = 0;
+				for (final Long consumerId : operations.getConsumerIds()) {
+					for (final Long ruleId : operations.getDeletes(consumerId)) {
+						writeRecord(writer, record(TYPE_DELETE, FIELD_CONSUMER_ID, consumerId, FIELD_RULE_ID, ruleId));
+						deleteIndexes.put(ruleId, index++);
+					}
+					for (final AuthorizationIntraCloudRequestDTO rule : operations.getAdds(consumerId)) {
+						writeRecord(writer, record(TYPE_ADD, FIELD_CONSUMER_ID, consumerId, FIELD_REQUEST, rule));
+						addIndexes.put(rule, index++);
+					}
+				}
+
+				writeRecord(writer, record(TYPE_PLANNED));
+				writer.flush();
+				out.getFD().sync();
+			}
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+
+		return new Recorder(deleteIndexes, addIndexes);
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private void discard() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private Map<String, Object> record(final String type, final Object... fields) {
+		final Map<String, Object> result = new LinkedHashMap<>();
+		result.put(FIELD_TYPE, type);
+		for (int i = 0; i < fields.length; i += 2) {
+			result.put((String) fields[i], fields[i + 1]);
+		}
+		return result;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void writeRecord(final Writer writer, final Map<String, Object> record) throws IOException {
+		writer.write(mapper.writeValueAsString(record));
+		writer.write('\n');
+	}
+
+	//=================================================================================================
+	// nested classes
+
+	//-------------------------------------------------------------------------------------------------
+	/**
+	 * Appends the completion records of one run. A failed journal write never fails the operation itself; the operation is just replayed
+	 * if the run is resumed.
+	 */
+	public class Recorder {
+
+		//=================================================================================================
+		// members
+
+		private final Map<Long, Integer> deleteIndexes;
+		private final Map<AuthorizationIntraCloudRequestDTO, Integer> addIndexes;
+		private final FileOutputStream out;
+		private final Writer writer;
+
+		private int unsynced = 0;
+		private long lastSync = System.currentTimeMillis();
+		private boolean failed = false;
+
+		//=================================================================================================
+		// methods
+
+		//-------------------------------------------------------------------------------------------------
+		private Recorder(final Map<Long, Integer> deleteIndexes, final Map<AuthorizationIntraCloudRequestDTO, Integer> addIndexes) throws IOException {
+			this.deleteIndexes = deleteIndexes;
+			this.addIndexes = addIndexes;
+			this.out = new FileOutputStream(file.toFile(), true);
+			this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		public void deleted(final long ruleId) {
+			done(deleteIndexes.get(ruleId));
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		public void added(final AuthorizationIntraCloudRequestDTO rule) {
+			done(addIndexes.get(rule));
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		// every operation succeeded: the journal is no longer needed
+		public synchronized void finish() {
+			close();
+			try {
+				discard();
+			} catch (final IOException e) {
+				logger.error("Could not remove the operation journal " + file + ", reason: " + e.getMessage());
+			}
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		// keeps the journal, so the next run of the same rules file can resume
+		public synchronized void close() {
+			try {
+				sync();
+				writer.close();
+			} catch (final IOException e) {
+				logger.error("Could not close the operation journal " + file + ", reason: " + e.getMessage());
+			}
+		}
+
+		//=================================================================================================
+		// assistant methods
+
+		//-------------------------------------------------------------------------------------------------
+		private synchronized void done(final Integer index) {
+			if (index == null || failed) {
+				return;
+			}
+
+			try {
+				writeRecord(writer, record(TYPE_DONE, FIELD_OPERATION, index));
+				++unsynced;
+				if (unsynced >= syncBatchSize || System.currentTimeMillis() - lastSync >= syncIntervalMillis) {
+					sync();
+				}
+			} catch (final IOException e) {
+				logger.error("Could not write the operation journal " + file + ", the completed operations are not recorded any more, reason: " + e.getMessage());
+				failed = true;
+			}
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		private void sync() throws IOException {
+			if (unsynced == 0 || failed) {
+				return;
+			}
+			writer.flush();
+			out.getFD().sync();
+			unsynced = 0;
+			lastSync = System.currentTimeMillis();
+		}
+	}
+}
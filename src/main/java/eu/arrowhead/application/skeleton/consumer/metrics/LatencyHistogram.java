@@ -0,0 +1,65 @@
+package eu.arrowhead.application.skeleton.consumer.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free timer of one phase or operation type: count, errors, total and maximum duration and a fixed-bucket histogram.
+ * The buckets are cumulative like the Prometheus histograms (a duration is counted in every bucket whose upper bound it does not exceed).
+ */
+public class LatencyHistogram {
+
+	//=================================================================================================
+	// members
+
+	// upper bounds of the buckets in milliseconds; the implicit last bucket is +Inf
+	public static final long[] BUCKET_BOUNDS_MS = { 1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000 };
+
+	private final LongAdder count = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MS.length);
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public void record(final long nanos, final boolean error) {
+		count.increment();
+		if (error) {
+			errors.increment();
+		}
+		totalNanos.add(nanos);
+		maxNanos.accumulateAndGet(nanos, Math::max);
+
+		for (int i = BUCKET_BOUNDS_MS.length - 1; i >= 0 && nanos <= TimeUnit.MILLISECONDS.toNanos(BUCKET_BOUNDS_MS[i]); --i) {
+			buckets.incrementAndGet(i);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public long getCount() {
+		return count.sum();
+	}
+
+	public long getErrors() {
+		return errors.sum();
+	}
+
+	public long getTotalNanos() {
+		return totalNanos.sum();
+	}
+
+	public long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// cumulative count of the bucket with the given index of BUCKET_BOUNDS_MS
+	public long getBucketCount(final int index) {
+		return buckets.get(index);
+	}
+}
@@ -0,0 +1,137 @@
+package eu.arrowhead.application.skeleton.consumer.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Timers of the phases of a run and of every HTTP operation type, plus plain counters. Safe to use from multiple threads.
+ */
+public class RunMetrics {
+
+	//=================================================================================================
+	// members
+
+	public static final String PHASE_PARSE = "parse";
+	public static final String PHASE_REGISTRY_FETCH = "registry_fetch";
+	public static final String PHASE_RULE_FETCH = "rule_fetch";
+	public static final String PHASE_RESOLUTION = "resolution";
+	public static final String PHASE_APPLY = "apply";
+
+	public static final String OPERATION_SYSTEMS_PAGE = "sr_systems_page";
+	public static final String OPERATION_SERVICES_PAGE = "sr_services_page";
+	public static final String OPERATION_INTERFACES_PAGE = "sr_interfaces_page";
+	public static final String OPERATION_REGISTRY_PROBE = "sr_probe";
+	public static final String OPERATION_RULES_PAGE = "auth_rules_page";
+	public static final String OPERATION_RULE_DELETE = "auth_rule_delete";
+	public static final String OPERATION_RULE_ADD = "auth_rule_add";
+
+	public static final String COUNTER_RULES_PARSED = "rules_parsed";
+	public static final String COUNTER_RULES_DUPLICATE = "rules_duplicate";
+	public static final String COUNTER_RULES_CHANGED = "rules_changed";
+	public static final String COUNTER_RULES_UNCHANGED = "rules_unchanged";
+	public static final String COUNTER_RULES_REMOVED = "rules_removed";
+	public static final String COUNTER_TUPLES_DEDUPLICATED = "tuples_deduplicated";
+	public static final String COUNTER_AUTHORIZATIONS_FETCHED = "authorizations_fetched";
+	public static final String COUNTER_AUTHORIZATIONS_DELETED = "authorizations_deleted";
+	public static final String COUNTER_AUTHORIZATIONS_ADDED = "authorizations_added";
+	public static final String COUNTER_ADD_REQUESTS_REJECTED = "add_requests_rejected";
+
+	private final long startedAt = System.currentTimeMillis();
+	private final Map<String, LatencyHistogram> phases = new ConcurrentHashMap<>();
+	private final Map<String, LatencyHistogram> operations = new ConcurrentHashMap<>();
+	private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+	private volatile boolean success = true;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public <T, E extends Exception> T timePhase(final String phase, final TimedAction<T, E> action) throws E {
+		return time(phases.computeIfAbsent(phase, k -> new LatencyHistogram()), action);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public <T, E extends Exception> T timeOperation(final String operation, final TimedAction<T, E> action) throws E {
+		return time(operations.computeIfAbsent(operation, k -> new LatencyHistogram()), action);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the operation is timed until the returned future completes
+	public <T> CompletableFuture<T> timeOperationAsync(final String operation, final Supplier<CompletableFuture<T>> action) {
+		final LatencyHistogram histogram = operations.computeIfAbsent(operation, k -> new LatencyHistogram());
+		final long start = System.nanoTime();
+		final CompletableFuture<T> future;
+		try {
+			future = action.get();
+		} catch (final RuntimeException e) {
+			histogram.record(System.nanoTime() - start, true);
+			throw e;
+		}
+		return future.whenComplete((result, error) -> histogram.record(System.nanoTime() - start, error != null));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void increment(final String counter, final long delta) {
+		counters.computeIfAbsent(counter, k -> new LongAdder()).add(delta);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void setSuccess(final boolean success) {
+		this.success = success;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public boolean isSuccess() {
+		return success;
+	}
+
+	public long getStartedAt() {
+		return startedAt;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the getters return sorted copies, so the reports are stable
+	public Map<String, LatencyHistogram> getPhases() {
+		return new TreeMap<>(phases);
+	}
+
+	public Map<String, LatencyHistogram> getOperations() {
+		return new TreeMap<>(operations);
+	}
+
+	public Map<String, Long> getCounters() {
+		final Map<String, Long> result = new TreeMap<>();
+		counters.forEach((name, value) -> result.put(name, value.sum()));
+		return result;
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private <T, E extends Exception> T time(final LatencyHistogram histogram, final TimedAction<T, E> action) throws E {
+		final long start = System.nanoTime();
+		boolean error = true;
+		try {
+			final T result = action.run();
+			error = false;
+			return result;
+		} finally {
+			histogram.record(System.nanoTime() - start, error);
+		}
+	}
+
+	//=================================================================================================
+	// nested classes
+
+	//-------------------------------------------------------------------------------------------------
+	@FunctionalInterface
+	public interface TimedAction<T, E extends Exception> {
+		T run() throws E;
+	}
+}
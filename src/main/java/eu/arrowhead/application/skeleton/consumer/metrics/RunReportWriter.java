@@ -0,0 +1,236 @@
+package eu.arrowhead.application.skeleton.consumer.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Writes the metrics of a run either as a JSON document or in the Prometheus text exposition format (for the node_exporter textfile collector).
+ * The file is replaced atomically, so a collector never reads a half-written report.
+ */
+public class RunReportWriter {
+
+	//=================================================================================================
+	// members
+
+	public static final String FORMAT_JSON = "json";
+	public static final String FORMAT_PROMETHEUS = "prometheus";
+
+	private static final String METRIC_PREFIX = "auth_ruler_";
+
+	private final Path file;
+	private final String format;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public RunReportWriter(final Path file, final String format) {
+		if (!FORMAT_JSON.equals(format) && !FORMAT_PROMETHEUS.equals(format)) {
+			throw new IllegalArgumentException("Unknown metrics report format: " + format + " (expected " + FORMAT_JSON + " or " + FORMAT_PROMETHEUS + ")");
+		}
+		this.file = file;
+		this.format = format;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void write(final RunMetrics metrics) throws IOException {
+		write(Collections.singletonMap(null, metrics));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// consolidated report of the runs of multiple clouds (cloud name -> metrics): the runs are nested under "clouds" in JSON
+	// and labeled with cloud="<name>" in the Prometheus format
+	public void write(final Map<String, RunMetrics> metricsByCloud) throws IOException {
+		final Path directory = file.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		final Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+		try {
+			try (final OutputStream out = Files.newOutputStream(tempFile)) {
+				if (FORMAT_JSON.equals(format)) {
+					writeJson(metricsByCloud, out);
+				} else {
+					writePrometheus(metricsByCloud, out);
+				}
+			}
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private void writeJson(final Map<String, RunMetrics> metricsByCloud, final OutputStream out) throws IOException {
+		try (final JsonGenerator generator = new JsonFactory().createGenerator(out, JsonEncoding.UTF8)) {
+			generator.useDefaultPrettyPrinter();
+			if (metricsByCloud.containsKey(null)) {
+				writeRun(generator, metricsByCloud.get(null));
+				return;
+			}
+
+			long startedAt = Long.MAX_VALUE;
+			boolean success = true;
+			for (final RunMetrics metrics : metricsByCloud.values()) {
+				startedAt = Math.min(startedAt, metrics.getStartedAt());
+				success &= metrics.isSuccess();
+			}
+
+			generator.writeStartObject();
+			generator.writeStringField("startedAt", Instant.ofEpochMilli(startedAt).toString());
+			generator.writeNumberField("durationMs", System.currentTimeMillis() - startedAt);
+			generator.writeBooleanField("success", success);
+			generator.writeObjectFieldStart("clouds");
+			for (final Map.Entry<String, RunMetrics> entry : metricsByCloud.entrySet()) {
+				generator.writeFieldName(entry.getKey());
+				writeRun(generator, entry.getValue());
+			}
+			generator.writeEndObject();
+			generator.writeEndObject();
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void writeRun(final JsonGenerator generator, final RunMetrics metrics) throws IOException {
+		generator.writeStartObject();
+		generator.writeStringField("startedAt", Instant.ofEpochMilli(metrics.getStartedAt()).toString());
+		generator.writeNumberField("durationMs", System.currentTimeMillis() - metrics.getStartedAt());
+		generator.writeBooleanField("success", metrics.isSuccess());
+
+		generator.writeObjectFieldStart("phases");
+		for (final Map.Entry<String, LatencyHistogram> entry : metrics.getPhases().entrySet()) {
+			generator.writeObjectFieldStart(entry.getKey());
+			generator.writeNumberField("count", entry.getValue().getCount());
+			generator.writeNumberField("errors", entry.getValue().getErrors());
+			generator.writeNumberField("totalMs", toMillis(entry.getValue().getTotalNanos()));
+			generator.writeEndObject();
+		}
+		generator.writeEndObject();
+
+		generator.writeObjectFieldStart("operations");
+		for (final Map.Entry<String, LatencyHistogram> entry : metrics.getOperations().entrySet()) {
+			final LatencyHistogram histogram = entry.getValue();
+			generator.writeObjectFieldStart(entry.getKey());
+			generator.writeNumberField("count", histogram.getCount());
+			generator.writeNumberField("errors", histogram.getErrors());
+			generator.writeNumberField("totalMs", toMillis(histogram.getTotalNanos()));
+			generator.writeNumberField("meanMs", histogram.getCount() == 0 ? 0 : toMillis(histogram.getTotalNanos()) / histogram.getCount());
+			generator.writeNumberField("maxMs", toMillis(histogram.getMaxNanos()));
+			generator.writeObjectFieldStart("histogramMs"); // cumulative counts per upper bound
+			for (int i = 0; i < LatencyHistogram.BUCKET_BOUNDS_MS.length; ++i) {
+				generator.writeNumberField("le" + LatencyHistogram.BUCKET_BOUNDS_MS[i], histogram.getBucketCount(i));
+			}
+			generator.writeNumberField("leInf", histogram.getCount());
+			generator.writeEndObject();
+			generator.writeEndObject();
+		}
+		generator.writeEndObject();
+
+		generator.writeObjectFieldStart("counters");
+		for (final Map.Entry<String, Long> entry : metrics.getCounters().entrySet()) {
+			generator.writeNumberField(entry.getKey(), entry.getValue());
+		}
+		generator.writeEndObject();
+
+		generator.writeEndObject();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the samples of a metric are kept together (under one TYPE line), as the text format requires
+	private void writePrometheus(final Map<String, RunMetrics> metricsByCloud, final OutputStream out) {
+		final PrintWriter printer = new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+		printer.print("# HELP " + METRIC_PREFIX + "last_run_timestamp_seconds Start time of the last run.\n");
+		printer.print("# TYPE " + METRIC_PREFIX + "last_run_timestamp_seconds gauge\n");
+		metricsByCloud.forEach((cloud, metrics) -> printer.print(METRIC_PREFIX + "last_run_timestamp_seconds" + labels(cloud, null) + " " + metrics.getStartedAt() / 1000 + "\n"));
+		printer.print("# HELP " + METRIC_PREFIX + "last_run_success Whether every operation of the last run succeeded.\n");
+		printer.print("# TYPE " + METRIC_PREFIX + "last_run_success gauge\n");
+		metricsByCloud.forEach((cloud, metrics) -> printer.print(METRIC_PREFIX + "last_run_success" + labels(cloud, null) + " " + (metrics.isSuccess() ? 1 : 0) + "\n"));
+
+		printer.print("# HELP " + METRIC_PREFIX + "phase_duration_seconds Total duration of the phases of the run.\n");
+		printer.print("# TYPE " + METRIC_PREFIX + "phase_duration_seconds gauge\n");
+		metricsByCloud.forEach((cloud, metrics) -> {
+			for (final Map.Entry<String, LatencyHistogram> entry : metrics.getPhases().entrySet()) {
+				printer.print(METRIC_PREFIX + "phase_duration_seconds" + labels(cloud, "phase=\"" + entry.getKey() + "\"") + " " + toSeconds(entry.getValue().getTotalNanos()) + "\n");
+			}
+		});
+
+		printer.print("# HELP " + METRIC_PREFIX + "operation_duration_seconds Duration of the HTTP operations.\n");
+		printer.print("# TYPE " + METRIC_PREFIX + "operation_duration_seconds histogram\n");
+		metricsByCloud.forEach((cloud, metrics) -> {
+			for (final Map.Entry<String, LatencyHistogram> entry : metrics.getOperations().entrySet()) {
+				final String label = "operation=\"" + entry.getKey() + "\"";
+				final LatencyHistogram histogram = entry.getValue();
+				for (int i = 0; i < LatencyHistogram.BUCKET_BOUNDS_MS.length; ++i) {
+					printer.print(METRIC_PREFIX + "operation_duration_seconds_bucket"
+								  + labels(cloud, label + ",le=\"" + toSeconds(TimeUnit.MILLISECONDS.toNanos(LatencyHistogram.BUCKET_BOUNDS_MS[i])) + "\"") + " "
+								  + histogram.getBucketCount(i) + "\n");
+				}
+				printer.print(METRIC_PREFIX + "operation_duration_seconds_bucket" + labels(cloud, label + ",le=\"+Inf\"") + " " + histogram.getCount() + "\n");
+				printer.print(METRIC_PREFIX + "operation_duration_seconds_sum" + labels(cloud, label) + " " + toSeconds(histogram.getTotalNanos()) + "\n");
+				printer.print(METRIC_PREFIX + "operation_duration_seconds_count" + labels(cloud, label) + " " + histogram.getCount() + "\n");
+			}
+		});
+
+		printer.print("# HELP " + METRIC_PREFIX + "operation_errors_total Failed HTTP operations.\n");
+		printer.print("# TYPE " + METRIC_PREFIX + "operation_errors_total counter\n");
+		metricsByCloud.forEach((cloud, metrics) -> {
+			for (final Map.Entry<String, LatencyHistogram> entry : metrics.getOperations().entrySet()) {
+				printer.print(METRIC_PREFIX + "operation_errors_total" + labels(cloud, "operation=\"" + entry.getKey() + "\"") + " " + entry.getValue().getErrors() + "\n");
+			}
+		});
+
+		final Set<String> counters = new TreeSet<>();
+		metricsByCloud.values().forEach(metrics -> counters.addAll(metrics.getCounters().keySet()));
+		for (final String counter : counters) {
+			printer.print("# TYPE " + METRIC_PREFIX + counter + "_total counter\n");
+			metricsByCloud.forEach((cloud, metrics) -> {
+				final Long value = metrics.getCounters().get(counter);
+				if (value != null) {
+					printer.print(METRIC_PREFIX + counter + "_total" + labels(cloud, null) + " " + value + "\n");
+				}
+			});
+		}
+		printer.flush();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the label set of a sample: the cloud label (if any) followed by the other labels (if any)
+	private String labels(final String cloud, final String otherLabels) {
+		if (cloud == null) {
+			return otherLabels == null ? "" : "{" + otherLabels + "}";
+		}
+
+		final String cloudLabel = "cloud=\"" + cloud + "\"";
+		return "{" + cloudLabel + (otherLabels == null ? "" : "," + otherLabels) + "}";
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private double toMillis(final long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private String toSeconds(final long nanos) {
+		return String.format(Locale.ROOT, "%.6f", nanos / (double) TimeUnit.SECONDS.toNanos(1));
+	}
+}
@@ -0,0 +1,125 @@
+package eu.arrowhead.application.skeleton.consumer.resolver;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evaluates conjunctions of metadata conditions (site=budapest;type=temperature-provider) by intersecting one bitmap per (key, value) pair.
+ * The system ids are mapped to dense positions once, and the bitmap of a pair is built from its id list at its first use, so only the
+ * pairs that appear in conjunctions cost memory. The ids of the rarest condition are tested against the bitmaps of the other conditions,
+ * so the cost of a conjunction depends on its most selective condition, not on the size of the cloud.
+ */
+public class MetadataBitmapIndex {
+
+	//=================================================================================================
+	// members
+
+	private final Map<String, Map<String, List<Long>>> systemIdsByMetadata;
+	private final long[] systemIds; // sorted; the position of an id is its bit
+	private final Map<List<String>, BitSet> bitmaps = new ConcurrentHashMap<>(); // (key, value) -> positions
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public MetadataBitmapIndex(final Map<String, Map<String, List<Long>>> systemIdsByMetadata, final Collection<List<Long>> systemIds) {
+		this.systemIdsByMetadata = systemIdsByMetadata;
+		this.systemIds = toSortedArray(systemIds);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// conditions: (key, value) pairs; returns the ids of the systems matching every condition, in ascending order
+	public List<Long> resolve(final List<String[]> conditions) {
+		final List<List<Long>> candidates = new ArrayList<>(conditions.size());
+		for (final String[] condition : conditions) {
+			final List<Long> ids = systemIdsByMetadata.getOrDefault(condition[0], Collections.emptyMap()).getOrDefault(condition[1], Collections.emptyList());
+			if (ids.isEmpty()) {
+				return List.of();
+			}
+			candidates.add(ids);
+		}
+
+		final Integer[] order = new Integer[conditions.size()];
+		for (int i = 0; i < order.length; ++i) {
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator.comparingInt(i -> candidates.get(i).size()));
+
+		// the ids of the rarest condition are tested against the bitmaps of the others, so its own bitmap is never needed
+		final List<BitSet> others = new ArrayList<>(order.length - 1);
+		for (int i = 1; i < order.length; ++i) {
+			others.add(getBitmap(conditions.get(order[i]), candidates.get(order[i])));
+		}
+
+		final BitSet result = new BitSet();
+		for (final Long id : candidates.get(order[0])) {
+			final int position = Arrays.binarySearch(systemIds, id);
+			if (matchesAll(others, position)) {
+				result.set(position);
+			}
+		}
+
+		final List<Long> ids = new ArrayList<>(result.cardinality());
+		for (int position = result.nextSetBit(0); position >= 0; position = result.nextSetBit(position + 1)) {
+			ids.add(systemIds[position]);
+		}
+		return ids;
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private static long[] toSortedArray(final Collection<List<Long>> idLists) {
+		int count = 0;
+		for (final List<Long> ids : idLists) {
+			count += ids.size();
+		}
+
+		final long[] result = new long[count];
+		int index = 0;
+		for (final List<Long> ids : idLists) {
+			for (final Long id : ids) {
+				result[index++] = id;
+			}
+		}
+		Arrays.sort(result);
+
+		// the same id can only appear once in the registry, but duplicates must not break the binary searches
+		int distinct = 0;
+		for (int i = 0; i < result.length; ++i) {
+			if (i == 0 || result[i] != result[distinct - 1]) {
+				result[distinct++] = result[i];
+			}
+		}
+		return distinct == result.length ? result : Arrays.copyOf(result, distinct);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private boolean matchesAll(final List<BitSet> bitmaps, final int position) {
+		for (final BitSet bitmap : bitmaps) {
+			if (!bitmap.get(position)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private BitSet getBitmap(final String[] condition, final List<Long> ids) {
+		return bitmaps.computeIfAbsent(List.of(condition[0], condition[1]), k -> {
+			final BitSet bitmap = new BitSet(systemIds.length);
+			for (final Long id : ids) {
+				bitmap.set(Arrays.binarySearch(systemIds, id));
+			}
+			return bitmap;
+		});
+	}
+}
@@ -0,0 +1,97 @@
+package eu.arrowhead.application.skeleton.consumer.resolver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import eu.arrowhead.application.skeleton.consumer.ConsumerConstants;
+
+/**
+ * Parses and formats the conditions of a metadata selector (key=value[;key=value...]).
+ * A segment without '=' continues the value of the previous condition, so the selectors written before multi-condition selectors
+ * existed (a single condition whose value contains ';') keep their meaning. Any other ';' of a key or value (e.g. a trailing one) is written as '\;'.
+ */
+public final class MetadataConditions {
+
+	//=================================================================================================
+	// members
+
+	private static final char ESCAPE = '\\';
+	private static final char SEPARATOR = ConsumerConstants.METADATA_CONDITION_SEPARATOR.charAt(0);
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	// returns the trimmed (key, value) pairs of the conditions; blank conditions (e.g. after a trailing ';') are ignored
+	public static List<String[]> parse(final String selector) {
+		final List<String[]> result = new ArrayList<>();
+		String current = null;
+		for (final String segment : split(selector)) {
+			if (segment.isBlank()) {
+				continue;
+			}
+			if (current != null && !segment.contains(ConsumerConstants.METADATA_SCHEME_STRING)) {
+				current += SEPARATOR + segment;
+				continue;
+			}
+			if (current != null) {
+				result.add(toCondition(current));
+			}
+			current = segment;
+		}
+
+		if (current == null) {
+			throw new IllegalArgumentException("System metadata is in invalid format!");
+		}
+		result.add(toCondition(current));
+		return result;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public static String format(final String key, final String value) {
+		return escape(key) + ConsumerConstants.METADATA_SCHEME_STRING + escape(value);
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private MetadataConditions() {
+		throw new UnsupportedOperationException();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// splits at the unescaped separators; a backslash not followed by the separator is kept as it is
+	private static List<String> split(final String selector) {
+		final List<String> result = new ArrayList<>();
+		final StringBuilder segment = new StringBuilder();
+		for (int i = 0; i < selector.length(); ++i) {
+			final char c = selector.charAt(i);
+			if (c == ESCAPE && i + 1 < selector.length() && selector.charAt(i + 1) == SEPARATOR) {
+				segment.append(SEPARATOR);
+				++i;
+			} else if (c == SEPARATOR) {
+				result.add(segment.toString());
+				segment.setLength(0);
+			} else {
+				segment.append(c);
+			}
+		}
+		result.add(segment.toString());
+		return result;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private static String[] toCondition(final String condition) {
+		final String[] metadata = condition.split(ConsumerConstants.METADATA_SCHEME_STRING);
+		if (metadata.length != 2) {
+			throw new IllegalArgumentException("System metadata is in invalid format!");
+		}
+		return new String[] { metadata[0].trim(), metadata[1].trim() };
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private static String escape(final String text) {
+		return text.replace(ConsumerConstants.METADATA_CONDITION_SEPARATOR, ESCAPE + ConsumerConstants.METADATA_CONDITION_SEPARATOR);
+	}
+}
@@ -0,0 +1,232 @@
+package eu.arrowhead.application.skeleton.consumer.resolver;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import eu.arrowhead.application.skeleton.consumer.ConsumerConstants;
+import eu.arrowhead.application.skeleton.consumer.cache.RegistrySnapshot;
+import eu.arrowhead.application.skeleton.consumer.cache.RegistrySnapshotCache;
+import eu.arrowhead.application.skeleton.consumer.client.ServiceRegistryClient;
+import eu.arrowhead.common.dto.shared.SystemResponseDTO;
+
+/**
+ * Builds a RegistryResolver either from the local snapshot (if the freshness check against the Service Registry passes)
+ * or from the Service Registry, writing a new snapshot on the way (which is only kept if the registry did not change during the fetch).
+ * The optional listener is notified as soon as the Authorization system is known, while the rest of the registry data is still loading.
+ */
+public class RegistryLoader {
+
+	//=================================================================================================
+	// members
+
+	private final Logger logger = LogManager.getLogger(RegistryLoader.class);
+
+	private final ServiceRegistryClient serviceRegistryClient;
+	private final RegistrySnapshotCache snapshotCache; // null if the snapshot is disabled
+	private final Executor executor;
+	private final Consumer<SystemResponseDTO> authorizationSystemListener; // may be null
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public RegistryLoader(final ServiceRegistryClient serviceRegistryClient, final RegistrySnapshotCache snapshotCache, final Executor executor) {
+		this(serviceRegistryClient, snapshotCache, executor, null);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public RegistryLoader(final ServiceRegistryClient serviceRegistryClient, final RegistrySnapshotCache snapshotCache, final Executor executor,
+						  final Consumer<SystemResponseDTO> authorizationSystemListener) {
+		this.serviceRegistryClient = serviceRegistryClient;
+		this.snapshotCache = snapshotCache;
+		this.executor = executor;
+		this.authorizationSystemListener = authorizationSystemListener;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public RegistryResolver load() {
+		final AtomicBoolean notified = new AtomicBoolean(false);
+		if (snapshotCache != null) {
+			final RegistryResolver cached = loadSnapshot(notified);
+			if (cached != null) {
+				return cached;
+			}
+		}
+
+		return fetch(notified);
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private RegistryResolver loadSnapshot(final AtomicBoolean notified) {
+		if (!snapshotCache.exists()) {
+			return null;
+		}
+
+		// the freshness check runs while the snapshot is being read
+		final CompletableFuture<RegistrySnapshot> currentFuture = CompletableFuture.supplyAsync(serviceRegistryClient::probe, executor);
+		final RegistryResolver resolver = new RegistryResolver();
+		final RegistrySnapshot cached = snapshotCache.load(resolver);
+		// the address in even an outdated snapshot is very likely still valid
+		notifyAuthorizationSystem(resolver, notified);
+		final RegistrySnapshot current;
+		try {
+			current = join(currentFuture);
+		} catch (final RuntimeException e) {
+			logger.debug("Registry freshness check was unsuccessful, reason: " + e.getMessage());
+			return null;
+		}
+
+		if (cached == null) {
+			logger.debug("No usable registry snapshot found.");
+			return null;
+		}
+		if (!cached.equals(current)) {
+			logger.debug("Registry snapshot is outdated (cached: " + cached + ", current: " + current + ").");
+			return null;
+		}
+
+		logger.debug("Using registry snapshot: " + cached);
+		logger.info("The registry data is taken from the local snapshot. A change the freshness check cannot see (one that keeps the number of elements, "
+					+ "made within the same second as the latest update) is not reflected; set " + ConsumerConstants.REGISTRY_SNAPSHOT_ENABLED + "=false to download the registry.");
+		resolver.setRegistryStamp(cached);
+		return resolver;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private RegistryResolver fetch(final AtomicBoolean notified) {
+		final RegistryResolver resolver = new RegistryResolver();
+		final RegistrySnapshotCache.Writer writer = openWriter();
+		final AtomicBoolean writeFailed = new AtomicBoolean(writer == null);
+
+		try {
+			final CompletableFuture<Long> systemsFuture = CompletableFuture.supplyAsync(() -> serviceRegistryClient.fetchSystems(page -> {
+				resolver.addSystems(page);
+				notifyAuthorizationSystem(resolver, notified);
+				write(writer, writeFailed, w -> w.writeSystems(page));
+			}), executor);
+			final CompletableFuture<Long> servicesFuture = CompletableFuture.supplyAsync(() -> serviceRegistryClient.fetchServices(page -> {
+				resolver.addServices(page);
+				write(writer, writeFailed, w -> w.writeServices(page));
+			}), executor);
+			final CompletableFuture<Long> interfacesFuture = CompletableFuture.supplyAsync(() -> serviceRegistryClient.fetchInterfaces(page -> {
+				resolver.addInterfaces(page);
+				write(writer, writeFailed, w -> w.writeInterfaces(page));
+			}), executor);
+
+			final long systemCount = join(systemsFuture);
+			final long serviceCount = join(servicesFuture);
+			final long interfaceCount = join(interfacesFuture);
+
+			final RegistrySnapshot fetched = writeFailed.get() ? null : writer.getSnapshot(systemCount, serviceCount, interfaceCount);
+			if (fetched != null && isUnchanged(fetched)) {
+				writer.commit(fetched);
+				resolver.setRegistryStamp(fetched);
+				logger.debug("Registry snapshot saved: " + fetched);
+			} else if (writer != null) {
+				writer.abort();
+			}
+		} catch (final IOException e) {
+			logger.debug("Could not save registry snapshot, reason: " + e.getMessage());
+			writer.abort();
+		} catch (final RuntimeException e) {
+			if (writer != null) {
+				writer.abort();
+			}
+			throw e;
+		}
+
+		return resolver;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the data of a list modified while it was being paged through is inconsistent (e.g. an element of an already fetched page was updated),
+	// so the snapshot is only saved if the registry still has the stamps of the fetched data
+	private boolean isUnchanged(final RegistrySnapshot fetched) {
+		try {
+			final RegistrySnapshot current = serviceRegistryClient.probe();
+			if (!fetched.equals(current)) {
+				logger.debug("Registry snapshot not saved, the registry changed during the fetch (fetched: " + fetched + ", current: " + current + ").");
+				return false;
+			}
+			return true;
+		} catch (final RuntimeException e) {
+			logger.debug("Registry snapshot not saved, the freshness check was unsuccessful, reason: " + e.getMessage());
+			return false;
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// at most once per load; a failing listener never fails the load itself
+	private void notifyAuthorizationSystem(final RegistryResolver resolver, final AtomicBoolean notified) {
+		final SystemResponseDTO authorizationSystem = resolver.getAuthorizationSystem();
+		if (authorizationSystemListener == null || authorizationSystem == null || notified.getAndSet(true)) {
+			return;
+		}
+
+		try {
+			authorizationSystemListener.accept(authorizationSystem);
+		} catch (final RuntimeException e) {
+			logger.debug("Authorization system listener was unsuccessful, reason: " + e.getMessage());
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private RegistrySnapshotCache.Writer openWriter() {
+		if (snapshotCache == null) {
+			return null;
+		}
+
+		try {
+			return snapshotCache.openWriter();
+		} catch (final IOException e) {
+			logger.debug("Could not create registry snapshot, reason: " + e.getMessage());
+			return null;
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// a failed snapshot write never fails the fetch itself, the snapshot is just not saved
+	private void write(final RegistrySnapshotCache.Writer writer, final AtomicBoolean writeFailed, final SnapshotWrite write) {
+		if (writeFailed.get()) {
+			return;
+		}
+
+		try {
+			write.accept(writer);
+		} catch (final IOException e) {
+			logger.debug("Could not write registry snapshot, reason: " + e.getMessage());
+			writeFailed.set(true);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private <T> T join(final CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	//=================================================================================================
+	// nested classes
+
+	//-------------------------------------------------------------------------------------------------
+	@FunctionalInterface
+	private interface SnapshotWrite {
+		void accept(final RegistrySnapshotCache.Writer writer) throws IOException;
+	}
+}
@@ -0,0 +1,309 @@
+package eu.arrowhead.application.skeleton.consumer.resolver;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.util.Assert;
+
+import eu.arrowhead.application.skeleton.consumer.ConsumerConstants;
+import eu.arrowhead.application.skeleton.consumer.cache.RegistrySnapshot;
+import eu.arrowhead.common.dto.shared.ServiceDefinitionResponseDTO;
+import eu.arrowhead.common.dto.shared.ServiceInterfaceResponseDTO;
+import eu.arrowhead.common.dto.shared.SystemResponseDTO;
+
+/**
+ * Resolves system selectors, service definitions and interface names to ids.
+ * The hash indexes are built once from the registry lists, so every lookup is O(1) regardless of the cloud size.
+ * Metadata conjunctions (site=budapest;type=sensor) are evaluated by bitmap intersection (see MetadataBitmapIndex).
+ * Name patterns (name~plc-line3-*) are evaluated against a sorted index of the system names, limited to the range of the pattern's literal prefix.
+ * The indexes can also be filled page by page (from multiple threads) while the registry data is being fetched; lookups are only valid
+ * after every page has been added.
+ */
+public class RegistryResolver {
+
+	//=================================================================================================
+	// members
+
+	private final Map<String, List<Long>> systemIdsByName = new HashMap<>();
+	private final Map<String, Map<String, List<Long>>> systemIdsByMetadata = new HashMap<>();
+	private final Map<String, Long> serviceDefinitionIds = new HashMap<>();
+	private final Map<String, Long> interfaceIds = new HashMap<>();
+
+	// selector (as written in the rules file, trimmed) -> matching system ids
+	private final Map<String, List<Long>> selectorMemo = new ConcurrentHashMap<>();
+
+	private volatile SystemResponseDTO authorizationSystem;
+	private volatile RegistrySnapshot registryStamp; // freshness stamp of the registry data the indexes were built from, null if unknown
+	private SortedNameIndex nameIndex; // built at the first name pattern lookup, guarded by systemIdsByName
+	private MetadataBitmapIndex metadataIndex; // built at the first multi-condition metadata lookup, guarded by systemIdsByName
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public RegistryResolver() {
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public RegistryResolver(final List<SystemResponseDTO> systems, final List<ServiceDefinitionResponseDTO> services, final List<ServiceInterfaceResponseDTO> interfaces) {
+		Assert.notNull(systems, "The list of possible systems is empty!");
+		Assert.notNull(services, "The list of possible services is empty!");
+		Assert.notNull(interfaces, "The list of possible interfaces is empty!");
+
+		addSystems(systems);
+		addServices(services);
+		addInterfaces(interfaces);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void addSystems(final List<SystemResponseDTO> systems) {
+		synchronized (systemIdsByName) {
+			nameIndex = null;
+			metadataIndex = null;
+			for (final SystemResponseDTO system : systems) {
+				indexSystem(system);
+			}
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void addServices(final List<ServiceDefinitionResponseDTO> services) {
+		synchronized (serviceDefinitionIds) {
+			for (final ServiceDefinitionResponseDTO service : services) {
+				serviceDefinitionIds.putIfAbsent(service.getServiceDefinition(), service.getId());
+			}
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void addInterfaces(final List<ServiceInterfaceResponseDTO> interfaces) {
+		synchronized (interfaceIds) {
+			for (final ServiceInterfaceResponseDTO interfaceElement : interfaces) {
+				interfaceIds.putIfAbsent(interfaceElement.getInterfaceName(), interfaceElement.getId());
+			}
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public SystemResponseDTO getAuthorizationSystem() {
+		return authorizationSystem;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public RegistrySnapshot getRegistryStamp() {
+		return registryStamp;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void setRegistryStamp(final RegistrySnapshot registryStamp) {
+		this.registryStamp = registryStamp;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// system name -> ids of the systems with that name (read only, valid after every page has been added)
+	public Map<String, List<Long>> getSystemIdsByName() {
+		return Collections.unmodifiableMap(systemIdsByName);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// metadata key -> metadata value -> ids of the systems with that metadata (read only, valid after every page has been added)
+	public Map<String, Map<String, List<Long>>> getSystemIdsByMetadata() {
+		return Collections.unmodifiableMap(systemIdsByMetadata);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// SHA-256 of everything the rules are resolved against (the system ids by name and by metadata, the service definition and interface ids),
+	// independent of the order the pages arrived in; equal hashes mean the same rules resolve to the same ids
+	public String getContentHash() {
+		final MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+
+		synchronized (systemIdsByName) {
+			for (final Map.Entry<String, List<Long>> entry : sorted(systemIdsByName).entrySet()) {
+				update(digest, entry.getKey());
+				update(digest, entry.getValue());
+			}
+			update(digest, (String) null); // separates the lists
+			for (final Map.Entry<String, Map<String, List<Long>>> keyEntry : sorted(systemIdsByMetadata).entrySet()) {
+				update(digest, keyEntry.getKey());
+				for (final Map.Entry<String, List<Long>> valueEntry : sorted(keyEntry.getValue()).entrySet()) {
+					update(digest, valueEntry.getKey());
+					update(digest, valueEntry.getValue());
+				}
+			}
+		}
+		update(digest, (String) null);
+		synchronized (serviceDefinitionIds) {
+			for (final Map.Entry<String, Long> entry : sorted(serviceDefinitionIds).entrySet()) {
+				update(digest, entry.getKey());
+				update(digest, List.of(entry.getValue()));
+			}
+		}
+		update(digest, (String) null);
+		synchronized (interfaceIds) {
+			for (final Map.Entry<String, Long> entry : sorted(interfaceIds).entrySet()) {
+				update(digest, entry.getKey());
+				update(digest, List.of(entry.getValue()));
+			}
+		}
+
+		return String.format("%064x", new BigInteger(1, digest.digest()));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the system string can be systemname, metadata or a system name pattern
+	// (in case it is metadata, it must contain '=', multiple conditions are separated by ';'; a pattern starts with "name~")
+	public List<Long> getSystemIdsByInfo(final String systemInfo) throws Exception {
+		final String systemInfoFormatted = systemInfo.trim();
+
+		List<Long> result = selectorMemo.get(systemInfoFormatted);
+		if (result == null) {
+			result = resolveSelector(systemInfoFormatted);
+			selectorMemo.put(systemInfoFormatted, result);
+		}
+
+		if (result.isEmpty()) {
+			throw new Exception("Could not find id for system with info: " + systemInfoFormatted);
+		}
+		return result;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public long interfaceNameToId(final String interfaceName) throws Exception {
+		final String interfaceNameFormatted = interfaceName.trim();
+
+		final Long id = interfaceIds.get(interfaceNameFormatted);
+		if (id == null) {
+			throw new Exception("Could not find id for interface with name: " + interfaceNameFormatted);
+		}
+		return id;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public long serviceDefinitionToId(final String serviceDefinition) throws Exception {
+		final String serviceDefinitionFormatted = serviceDefinition.trim();
+
+		final Long id = serviceDefinitionIds.get(serviceDefinitionFormatted);
+		if (id == null) {
+			throw new Exception("Could not find id for service definition with name: " + serviceDefinitionFormatted);
+		}
+		return id;
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private void indexSystem(final SystemResponseDTO system) {
+		if (authorizationSystem == null && ConsumerConstants.AUTHORIZATION.equals(system.getSystemName())) {
+			authorizationSystem = system;
+		}
+		systemIdsByName.computeIfAbsent(system.getSystemName(), k -> new ArrayList<>()).add(system.getId());
+
+		if (system.getMetadata() != null) {
+			for (final Map.Entry<String, String> entry : system.getMetadata().entrySet()) {
+				systemIdsByMetadata.computeIfAbsent(entry.getKey(), k -> new HashMap<>())
+								   .computeIfAbsent(entry.getValue(), k -> new ArrayList<>())
+								   .add(system.getId());
+			}
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private <V> SortedMap<String, V> sorted(final Map<String, V> map) {
+		final SortedMap<String, V> result = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+		result.putAll(map);
+		return result;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void update(final MessageDigest digest, final String value) {
+		if (value == null) {
+			digest.update((byte) 1);
+		} else {
+			digest.update(value.getBytes(StandardCharsets.UTF_8));
+		}
+		digest.update((byte) 0);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void update(final MessageDigest digest, final List<Long> ids) {
+		final long[] sortedIds = ids.stream().mapToLong(Long::longValue).sorted().toArray();
+		final ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + sortedIds.length * Long.BYTES);
+		buffer.putInt(sortedIds.length);
+		for (final long id : sortedIds) {
+			buffer.putLong(id);
+		}
+		digest.update(buffer.array());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private List<Long> resolveSelector(final String systemInfoFormatted) {
+		//case: systeminfo is a system name pattern
+		if (systemInfoFormatted.startsWith(ConsumerConstants.NAME_PATTERN_SELECTOR)) {
+			return resolveNamePattern(SystemNamePattern.compile(systemInfoFormatted.substring(ConsumerConstants.NAME_PATTERN_SELECTOR.length()).trim()));
+		}
+
+		//case: systeminfo is metadata
+		if (systemInfoFormatted.contains(ConsumerConstants.METADATA_SCHEME_STRING)) {
+			final List<String[]> conditions = MetadataConditions.parse(systemInfoFormatted);
+			if (conditions.size() > 1) {
+				return Collections.unmodifiableList(getMetadataIndex().resolve(conditions));
+			}
+
+			final Map<String, List<Long>> idsByValue = systemIdsByMetadata.getOrDefault(conditions.get(0)[0], Collections.emptyMap());
+			return Collections.unmodifiableList(idsByValue.getOrDefault(conditions.get(0)[1], Collections.emptyList()));
+		}
+
+		//case: systeminfo is systemname
+		return Collections.unmodifiableList(systemIdsByName.getOrDefault(systemInfoFormatted, Collections.emptyList()));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// only the names in the range of the pattern's literal prefix are tested
+	private List<Long> resolveNamePattern(final SystemNamePattern pattern) {
+		final List<Long> result = new ArrayList<>();
+		getNameIndex().forEachWithPrefix(pattern.getPrefix(), name -> {
+			if (pattern.matches(name)) {
+				result.addAll(systemIdsByName.get(name));
+			}
+		});
+		return Collections.unmodifiableList(result);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private SortedNameIndex getNameIndex() {
+		synchronized (systemIdsByName) {
+			if (nameIndex == null) {
+				nameIndex = new SortedNameIndex(systemIdsByName.keySet());
+			}
+			return nameIndex;
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private MetadataBitmapIndex getMetadataIndex() {
+		synchronized (systemIdsByName) {
+			if (metadataIndex == null) {
+				metadataIndex = new MetadataBitmapIndex(systemIdsByMetadata, systemIdsByName.values());
+			}
+			return metadataIndex;
+		}
+	}
+}
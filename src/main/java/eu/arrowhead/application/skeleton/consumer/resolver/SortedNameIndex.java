@@ -0,0 +1,58 @@
+package eu.arrowhead.application.skeleton.consumer.resolver;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Sorted array of the distinct system names: the names with a given prefix form one contiguous range, found with a binary search,
+ * so a prefix query costs O(log n + matches) instead of a scan of every name.
+ */
+public class SortedNameIndex {
+
+	//=================================================================================================
+	// members
+
+	private final String[] names;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public SortedNameIndex(final Collection<String> names) {
+		this.names = names.toArray(new String[0]);
+		Arrays.sort(this.names);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// calls the consumer with every name that starts with the prefix, in ascending order
+	public void forEachWithPrefix(final String prefix, final Consumer<String> consumer) {
+		for (int i = lowerBound(prefix); i < names.length && names[i].startsWith(prefix); ++i) {
+			consumer.accept(names[i]);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public int size() {
+		return names.length;
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	// index of the first name not less than the key
+	private int lowerBound(final String key) {
+		int low = 0;
+		int high = names.length;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (names[middle].compareTo(key) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+}
@@ -0,0 +1,123 @@
+package eu.arrowhead.application.skeleton.consumer.resolver;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiled system name pattern of a name~ selector: either a glob (* matches any sequence, ? one character) or, between slashes,
+ * a regular expression (e.g. name~/plc-line[0-9]+-.*&#47;). The pattern must match the whole name.
+ * The literal prefix of the pattern limits the names to test to one range of the sorted name index; a glob with a single trailing *
+ * is a pure prefix query, every name in its range matches without testing.
+ */
+public class SystemNamePattern {
+
+	//=================================================================================================
+	// members
+
+	private static final char REGEX_DELIMITER = '/';
+	private static final String GLOB_WILDCARDS = "*?";
+	private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+	private static final String REGEX_QUANTIFIERS = "?*+{";
+
+	private final String prefix;
+	private final Pattern pattern; // null for pure prefix queries
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	private SystemNamePattern(final String prefix, final Pattern pattern) {
+		this.prefix = prefix;
+		this.pattern = pattern;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public static SystemNamePattern compile(final String expression) {
+		if (expression.isEmpty()) {
+			throw new IllegalArgumentException("System name pattern is empty!");
+		}
+
+		if (expression.length() > 1 && expression.charAt(0) == REGEX_DELIMITER && expression.charAt(expression.length() - 1) == REGEX_DELIMITER) {
+			final String regex = expression.substring(1, expression.length() - 1);
+			try {
+				return new SystemNamePattern(getRegexPrefix(regex), Pattern.compile(regex));
+			} catch (final PatternSyntaxException e) {
+				throw new IllegalArgumentException("System name pattern is an invalid regular expression: " + e.getDescription());
+			}
+		}
+
+		final int firstWildcard = indexOfWildcard(expression);
+		if (firstWildcard < 0) {
+			return new SystemNamePattern(expression, Pattern.compile(Pattern.quote(expression)));
+		}
+		final String prefix = expression.substring(0, firstWildcard);
+		if (firstWildcard == expression.length() - 1 && expression.charAt(firstWildcard) == '*') {
+			return new SystemNamePattern(prefix, null);
+		}
+		return new SystemNamePattern(prefix, Pattern.compile(globToRegex(expression)));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// every matching name starts with this prefix
+	public String getPrefix() {
+		return prefix;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// only called for names that start with the prefix
+	public boolean matches(final String name) {
+		return pattern == null || pattern.matcher(name).matches();
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private static int indexOfWildcard(final String glob) {
+		for (int i = 0; i < glob.length(); ++i) {
+			if (GLOB_WILDCARDS.indexOf(glob.charAt(i)) >= 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private static String globToRegex(final String glob) {
+		final StringBuilder regex = new StringBuilder();
+		int literalStart = 0;
+		for (int i = 0; i < glob.length(); ++i) {
+			final char c = glob.charAt(i);
+			if (GLOB_WILDCARDS.indexOf(c) < 0) {
+				continue;
+			}
+			if (i > literalStart) {
+				regex.append(Pattern.quote(glob.substring(literalStart, i)));
+			}
+			regex.append(c == '*' ? ".*" : ".");
+			literalStart = i + 1;
+		}
+		if (literalStart < glob.length()) {
+			regex.append(Pattern.quote(glob.substring(literalStart)));
+		}
+		return regex.toString();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the leading characters that are matched literally; a character followed by a quantifier is not part of it
+	// (e.g. "ab" for "abc*"), and a top-level alternation has no common prefix
+	private static String getRegexPrefix(final String regex) {
+		if (regex.indexOf('|') >= 0) {
+			return "";
+		}
+
+		int end = 0;
+		while (end < regex.length() && REGEX_METACHARACTERS.indexOf(regex.charAt(end)) < 0) {
+			++end;
+		}
+		if (end < regex.length() && end > 0 && REGEX_QUANTIFIERS.indexOf(regex.charAt(end)) >= 0) {
+			--end;
+		}
+		return regex.substring(0, end);
+	}
+}
@@ -0,0 +1,86 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.util.Assert;
+
+import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudRequestDTO;
+
+/**
+ * Merges the entries of a consumer into as few POST bodies as possible. The Authorization system accepts either multiple providers or multiple
+ * service definitions in one request (never both), and the interfaces of a request apply to every entry it creates, so entries are grouped
+ * by (service, interfaces) into multi-provider bodies or by (provider, interfaces) into multi-service bodies, whichever needs fewer requests.
+ */
+public class AuthRuleCoalescer {
+
+	//=================================================================================================
+	// members
+
+	private final int maxBatchSize;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public AuthRuleCoalescer(final int maxBatchSize) {
+		Assert.isTrue(maxBatchSize > 0, "The maximum batch size must be positive!");
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public List<AuthorizationIntraCloudRequestDTO> coalesce(final Map<AuthRuleKey, Set<Long>> authorizations) {
+		final Map<Long, Map<AuthRuleKey, Set<Long>>> byConsumer = new LinkedHashMap<>();
+		for (final Map.Entry<AuthRuleKey, Set<Long>> entry : authorizations.entrySet()) {
+			byConsumer.computeIfAbsent(entry.getKey().getConsumerId(), k -> new LinkedHashMap<>()).put(entry.getKey(), entry.getValue());
+		}
+
+		final List<AuthorizationIntraCloudRequestDTO> result = new ArrayList<>();
+		for (final Map.Entry<Long, Map<AuthRuleKey, Set<Long>>> consumerEntries : byConsumer.entrySet()) {
+			final List<AuthorizationIntraCloudRequestDTO> multiProvider = group(consumerEntries.getKey(), consumerEntries.getValue(), true);
+			if (multiProvider.size() == 1) {
+				result.addAll(multiProvider);
+				continue;
+			}
+
+			final List<AuthorizationIntraCloudRequestDTO> multiService = group(consumerEntries.getKey(), consumerEntries.getValue(), false);
+			result.addAll(multiService.size() < multiProvider.size() ? multiService : multiProvider);
+		}
+
+		return result;
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private List<AuthorizationIntraCloudRequestDTO> group(final long consumerId, final Map<AuthRuleKey, Set<Long>> entries, final boolean multiProvider) {
+		// fixed id (service or provider) -> interface ids -> varying ids (providers or services)
+		final Map<Long, Map<Set<Long>, List<Long>>> groups = new LinkedHashMap<>();
+		for (final Map.Entry<AuthRuleKey, Set<Long>> entry : entries.entrySet()) {
+			final AuthRuleKey key = entry.getKey();
+			final long fixedId = multiProvider ? key.getServiceDefinitionId() : key.getProviderId();
+			final long varyingId = multiProvider ? key.getProviderId() : key.getServiceDefinitionId();
+			groups.computeIfAbsent(fixedId, k -> new LinkedHashMap<>()).computeIfAbsent(entry.getValue(), k -> new ArrayList<>()).add(varyingId);
+		}
+
+		final List<AuthorizationIntraCloudRequestDTO> result = new ArrayList<>();
+		for (final Map.Entry<Long, Map<Set<Long>, List<Long>>> group : groups.entrySet()) {
+			final List<Long> fixedIds = List.of(group.getKey());
+			for (final Map.Entry<Set<Long>, List<Long>> interfaceGroup : group.getValue().entrySet()) {
+				final List<Long> interfaceIds = new ArrayList<>(interfaceGroup.getKey());
+				final List<Long> varyingIds = interfaceGroup.getValue();
+				for (int i = 0; i < varyingIds.size(); i += maxBatchSize) {
+					final List<Long> batch = new ArrayList<>(varyingIds.subList(i, Math.min(i + maxBatchSize, varyingIds.size())));
+					result.add(multiProvider ? new AuthorizationIntraCloudRequestDTO(consumerId, batch, fixedIds, interfaceIds)
+											 : new AuthorizationIntraCloudRequestDTO(consumerId, fixedIds, batch, interfaceIds));
+				}
+			}
+		}
+
+		return result;
+	}
+}
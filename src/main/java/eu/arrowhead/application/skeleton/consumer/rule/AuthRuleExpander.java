@@ -0,0 +1,117 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+import eu.arrowhead.application.skeleton.consumer.resolver.RegistryResolver;
+
+/**
+ * Expands the selectors of the rules into concrete (consumer, provider, service) entries with their interface ids.
+ * The rules are normalized first, and every expanded (consumer, provider, service, interface) tuple is checked against a compact set,
+ * so the tuples produced by overlapping selectors are only added once; their number is reported as saved operations.
+ */
+public class AuthRuleExpander {
+
+	//=================================================================================================
+	// members
+
+	private final Logger logger = LogManager.getLogger(AuthRuleExpander.class);
+
+	private final RegistryResolver resolver;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public AuthRuleExpander(final RegistryResolver resolver) {
+		this.resolver = resolver;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public ExpandedRules expand(final List<AuthRule> rules) {
+		final AuthRuleNormalizer normalizer = new AuthRuleNormalizer();
+		final List<AuthRule> normalizedRules = normalizer.normalize(rules);
+
+		final Map<AuthRuleKey, Set<Long>> authorizations = new LinkedHashMap<>();
+		final Set<Long> consumerIds = new LinkedHashSet<>();
+		final CompactTupleSet tuples = new CompactTupleSet(normalizedRules.size());
+		long tupleCount = 0;
+
+		for (final AuthRule rule : normalizedRules) {
+			try {
+				tupleCount += expandRule(rule, authorizations, consumerIds, tuples);
+			} catch (final Exception e) {
+				logger.error("Could not create authorization rule: " + rule.toString() + ", reason: " + e.getMessage());
+			}
+		}
+
+		final long duplicateCount = tupleCount - tuples.size();
+		if (normalizer.getMergedRuleCount() > 0 || duplicateCount > 0) {
+			logger.info("Rule normalization merged " + normalizer.getMergedRuleCount() + " rule(s) and removed " + duplicateCount + " duplicate (consumer, provider, service, interface) tuple(s) of "
+						+ tupleCount + ".");
+		}
+		return new ExpandedRules(authorizations, consumerIds, duplicateCount);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// expands every (already normalized) rule on its own, so the expansion of a rule can be stored and reused while neither the rule
+	// nor the registry changes; the result is null for the rules that could not be expanded
+	public List<ExpandedRules> expandEach(final List<AuthRule> normalizedRules) {
+		final List<ExpandedRules> result = new ArrayList<>(normalizedRules.size());
+		for (final AuthRule rule : normalizedRules) {
+			final Map<AuthRuleKey, Set<Long>> authorizations = new LinkedHashMap<>();
+			final Set<Long> consumerIds = new LinkedHashSet<>();
+			try {
+				expandRule(rule, authorizations, consumerIds, null);
+				result.add(new ExpandedRules(authorizations, consumerIds));
+			} catch (final Exception e) {
+				logger.error("Could not create authorization rule: " + rule.toString() + ", reason: " + e.getMessage());
+				result.add(null);
+			}
+		}
+		return result;
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	// returns the number of expanded tuples; the tuples already in the tuple set (if given) are skipped
+	private long expandRule(final AuthRule rule, final Map<AuthRuleKey, Set<Long>> authorizations, final Set<Long> consumerIds, final CompactTupleSet tuples) throws Exception {
+		final List<Long> consumerIdList = resolver.getSystemIdsByInfo(rule.getConsumer());
+		consumerIds.addAll(consumerIdList);
+
+		final List<Long> providerIdList = resolver.getSystemIdsByInfo(rule.getProvider());
+		final long serviceDefinitionId = resolver.serviceDefinitionToId(rule.getService());
+		final long[] interfaceIds = new long[rule.getInterfaces().size()];
+		for (int i = 0; i < interfaceIds.length; ++i) {
+			interfaceIds[i] = resolver.interfaceNameToId(rule.getInterfaces().get(i));
+		}
+
+		long tupleCount = 0;
+		for (final long consumerId : consumerIdList) {
+			for (final long providerId : providerIdList) {
+				Set<Long> interfaces = null;
+				for (final long interfaceId : interfaceIds) {
+					++tupleCount;
+					if (tuples != null && !tuples.add(consumerId, providerId, serviceDefinitionId, interfaceId)) {
+						continue;
+					}
+					if (interfaces == null) {
+						interfaces = authorizations.computeIfAbsent(new AuthRuleKey(consumerId, providerId, serviceDefinitionId), k -> new LinkedHashSet<>());
+					}
+					interfaces.add(interfaceId);
+				}
+			}
+		}
+		return tupleCount;
+	}
+}
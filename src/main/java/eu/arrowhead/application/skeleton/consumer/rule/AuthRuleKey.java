@@ -0,0 +1,65 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+import java.util.Objects;
+
+/**
+ * Identifies one intra-cloud authorization entry: the Authorization system stores at most one entry per (consumer, provider, service definition),
+ * with the allowed interfaces attached to it.
+ */
+public final class AuthRuleKey {
+
+	//=================================================================================================
+	// members
+
+	private final long consumerId;
+	private final long providerId;
+	private final long serviceDefinitionId;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public AuthRuleKey(final long consumerId, final long providerId, final long serviceDefinitionId) {
+		this.consumerId = consumerId;
+		this.providerId = providerId;
+		this.serviceDefinitionId = serviceDefinitionId;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public long getConsumerId() {
+		return consumerId;
+	}
+
+	public long getProviderId() {
+		return providerId;
+	}
+
+	public long getServiceDefinitionId() {
+		return serviceDefinitionId;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof AuthRuleKey)) {
+			return false;
+		}
+		final AuthRuleKey other = (AuthRuleKey) obj;
+		return consumerId == other.consumerId && providerId == other.providerId && serviceDefinitionId == other.serviceDefinitionId;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public int hashCode() {
+		return Objects.hash(consumerId, providerId, serviceDefinitionId);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String toString() {
+		return "consumerId: " + consumerId + ", providerId: " + providerId + ", serviceDefinitionId: " + serviceDefinitionId;
+	}
+}
@@ -0,0 +1,133 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import eu.arrowhead.application.skeleton.consumer.ConsumerConstants;
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+import eu.arrowhead.application.skeleton.consumer.resolver.MetadataConditions;
+
+/**
+ * Brings the rules into canonical form before they are expanded: the selectors are trimmed (metadata selectors to "key=value",
+ * multi-condition selectors to their sorted conditions, name patterns to "name~pattern"),
+ * the interface lists are deduplicated, and the rules with the same consumer, provider and service are merged into one rule
+ * with the union of their interfaces. Equivalent selectors thus share one resolution and one expansion.
+ */
+public class AuthRuleNormalizer {
+
+	//=================================================================================================
+	// members
+
+	private int mergedRuleCount = 0;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	// the input rules are not modified; the order of the first occurrences is kept
+	public List<AuthRule> normalize(final List<AuthRule> rules) {
+		mergedRuleCount = 0;
+		final Map<List<String>, Set<String>> interfacesBySelectors = new LinkedHashMap<>();
+		for (final AuthRule rule : rules) {
+			final List<String> selectors = List.of(canonicalize(rule.getConsumer()), canonicalize(rule.getProvider()), trim(rule.getService()));
+			Set<String> interfaces = interfacesBySelectors.get(selectors);
+			if (interfaces == null) {
+				interfaces = new LinkedHashSet<>();
+				interfacesBySelectors.put(selectors, interfaces);
+			} else {
+				++mergedRuleCount;
+			}
+
+			for (final String interfaceName : rule.getInterfaces()) {
+				interfaces.add(trim(interfaceName));
+			}
+		}
+
+		final List<AuthRule> result = new ArrayList<>(interfacesBySelectors.size());
+		for (final Map.Entry<List<String>, Set<String>> entry : interfacesBySelectors.entrySet()) {
+			final List<String> selectors = entry.getKey();
+			result.add(new AuthRule(selectors.get(0), selectors.get(1), selectors.get(2), new ArrayList<>(entry.getValue())));
+		}
+		return result;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// normalizes the rules and removes the interfaces of the removed rules from the rule with the same consumer, provider and service
+	// (a removed rule without interfaces removes every interface); a rule without interfaces left is dropped, and a removed rule that
+	// matches none of the rules is ignored
+	public List<AuthRule> subtract(final List<AuthRule> rules, final List<AuthRule> removedRules) {
+		final List<AuthRule> normalizedRules = normalize(rules);
+		final int merged = mergedRuleCount;
+		final Map<List<String>, Set<String>> removedInterfaces = new HashMap<>();
+		for (final AuthRule removed : normalize(removedRules)) {
+			removedInterfaces.put(List.of(removed.getConsumer(), removed.getProvider(), removed.getService()), new HashSet<>(removed.getInterfaces()));
+		}
+		mergedRuleCount = merged;
+
+		final List<AuthRule> result = new ArrayList<>(normalizedRules.size());
+		for (final AuthRule rule : normalizedRules) {
+			final Set<String> removed = removedInterfaces.get(List.of(rule.getConsumer(), rule.getProvider(), rule.getService()));
+			if (removed == null) {
+				result.add(rule);
+				continue;
+			}
+
+			if (removed.isEmpty()) {
+				continue;
+			}
+			final List<String> interfaces = new ArrayList<>(rule.getInterfaces());
+			interfaces.removeAll(removed);
+			if (!interfaces.isEmpty()) {
+				result.add(new AuthRule(rule.getConsumer(), rule.getProvider(), rule.getService(), interfaces));
+			}
+		}
+		return result;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// number of rules merged into an earlier rule by the last normalize call
+	public int getMergedRuleCount() {
+		return mergedRuleCount;
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	// a malformed metadata selector (a condition with more than one '=') is kept as it is, so the resolver reports it;
+	// the conditions of a multi-condition selector are sorted and deduplicated, as their order does not matter
+	private String canonicalize(final String selector) {
+		final String trimmed = trim(selector);
+		if (trimmed.startsWith(ConsumerConstants.NAME_PATTERN_SELECTOR)) {
+			return ConsumerConstants.NAME_PATTERN_SELECTOR + trimmed.substring(ConsumerConstants.NAME_PATTERN_SELECTOR.length()).trim();
+		}
+		if (!trimmed.contains(ConsumerConstants.METADATA_SCHEME_STRING)) {
+			return trimmed;
+		}
+
+		final List<String[]> parsed;
+		try {
+			parsed = MetadataConditions.parse(trimmed);
+		} catch (final IllegalArgumentException e) {
+			return trimmed;
+		}
+
+		final Set<String> conditions = new TreeSet<>();
+		for (final String[] condition : parsed) {
+			conditions.add(MetadataConditions.format(condition[0], condition[1]));
+		}
+		return String.join(ConsumerConstants.METADATA_CONDITION_SEPARATOR, conditions);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private String trim(final String value) {
+		return value == null ? "" : value.trim();
+	}
+}
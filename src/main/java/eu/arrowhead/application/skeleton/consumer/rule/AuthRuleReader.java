@@ -0,0 +1,76 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import eu.arrowhead.application.skeleton.consumer.ConsumerConstants;
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+
+/**
+ * Reads a rules file with a streaming parser: every rule is bound directly from the token stream and handed over as soon as it is read,
+ * so neither the file nor a JSON tree of it is held in memory. The rules themselves are still collected by readAll, as the normalization,
+ * the reconciliation and the watch and service modes need the whole rule set. Unknown properties of a rule are ignored.
+ */
+public class AuthRuleReader {
+
+	//=================================================================================================
+	// members
+
+	private final ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public List<AuthRule> readAll(final File file) throws IOException {
+		final List<AuthRule> rules = new ArrayList<>();
+		read(file, rules::add);
+		return rules;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void read(final File file, final Consumer<AuthRule> ruleConsumer) throws IOException {
+		try (final JsonParser parser = mapper.getFactory().createParser(file)) {
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				throw new IOException(describe(file, parser.getTokenLocation(), "the rules file must contain a JSON array"));
+			}
+
+			JsonToken token;
+			while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+				if (token != JsonToken.START_OBJECT) {
+					throw new IOException(describe(file, parser.getTokenLocation(), "authorization rule object expected, but found " + token));
+				}
+
+				final AuthRule rule = mapper.readValue(parser, AuthRule.class);
+				// Setting the defaults if no interfaces are given
+				if (rule.getInterfaces() == null || rule.getInterfaces().isEmpty()) {
+					rule.setInterfaces(new ArrayList<String>(ConsumerConstants.DEFAULT_INTERFACE_NAMES));
+				}
+				ruleConsumer.accept(rule);
+			}
+		} catch (final JsonProcessingException e) {
+			throw new IOException(describe(file, e.getLocation(), "could not create authorization rule (invalid json format): " + e.getOriginalMessage()), e);
+		}
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private String describe(final File file, final JsonLocation location, final String reason) {
+		if (location == null) {
+			return file.getPath() + ": " + reason;
+		}
+		return file.getPath() + " (line " + location.getLineNr() + ", column " + location.getColumnNr() + "): " + reason;
+	}
+}
@@ -0,0 +1,65 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Computes the difference between the existing authorization entries of the consumers mentioned in the rules and the desired ones.
+ * An existing entry is kept only if the rules produce the very same interface set for its (consumer, provider, service); since an entry's
+ * interfaces cannot be modified in place, a changed interface set means deleting the entry and adding it again.
+ * The existing entries can be fed in chunks (from multiple threads), only the entries to delete are retained.
+ */
+public class AuthRuleReconciler {
+
+	//=================================================================================================
+	// members
+
+	private final ExpandedRules desired;
+	private final Set<AuthRuleKey> kept = new HashSet<>();
+	private final List<AuthorizationEntry> rulesToDelete = new ArrayList<>();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public AuthRuleReconciler(final ExpandedRules desired) {
+		this.desired = desired;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public synchronized void accept(final List<AuthorizationEntry> existingRules) {
+		final Map<AuthRuleKey, Set<Long>> desiredAuthorizations = desired.getAuthorizations();
+
+		for (final AuthorizationEntry existing : existingRules) {
+			final AuthRuleKey key = existing.getKey();
+			if (!desired.getConsumerIds().contains(key.getConsumerId())) {
+				continue; // not managed by this rule set
+			}
+
+			final Set<Long> desiredInterfaceIds = desiredAuthorizations.get(key);
+			if (desiredInterfaceIds != null && !kept.contains(key) && desiredInterfaceIds.equals(existing.getInterfaceIds())) {
+				kept.add(key);
+			} else {
+				rulesToDelete.add(existing);
+			}
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// must be called after every existing entry has been accepted
+	public synchronized ReconciliationPlan getPlan() {
+		final Map<AuthRuleKey, Set<Long>> authorizationsToAdd = new LinkedHashMap<>();
+		for (final Map.Entry<AuthRuleKey, Set<Long>> entry : desired.getAuthorizations().entrySet()) {
+			if (!kept.contains(entry.getKey())) {
+				authorizationsToAdd.put(entry.getKey(), entry.getValue());
+			}
+		}
+
+		return new ReconciliationPlan(new ArrayList<>(rulesToDelete), authorizationsToAdd, kept.size());
+	}
+}
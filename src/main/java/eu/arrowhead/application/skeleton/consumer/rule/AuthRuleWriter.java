@@ -0,0 +1,88 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+
+/**
+ * Writes a rules file with a streaming generator: every rule is written as soon as it is given, so the rules are never held in memory.
+ * The rules are written into a temporary file next to the target, which only replaces the target (atomically) when commit is called;
+ * a writer closed without commit leaves the target untouched.
+ */
+public class AuthRuleWriter implements Closeable {
+
+	//=================================================================================================
+	// members
+
+	private final Path file;
+	private final Path tempFile;
+	private final JsonGenerator generator;
+
+	private long count = 0;
+	private boolean committed = false;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public AuthRuleWriter(final Path file) throws IOException {
+		final Path directory = file.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		this.file = file;
+		this.tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+		this.generator = new JsonFactory().createGenerator(Files.newOutputStream(tempFile), JsonEncoding.UTF8);
+		this.generator.useDefaultPrettyPrinter();
+		this.generator.writeStartArray();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public synchronized void write(final AuthRule rule) throws IOException {
+		generator.writeStartObject();
+		generator.writeStringField("consumer", rule.getConsumer());
+		generator.writeStringField("provider", rule.getProvider());
+		generator.writeStringField("service", rule.getService());
+		generator.writeArrayFieldStart("interfaces");
+		for (final String interfaceName : rule.getInterfaces()) {
+			generator.writeString(interfaceName);
+		}
+		generator.writeEndArray();
+		generator.writeEndObject();
+		++count;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public synchronized long getCount() {
+		return count;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// completes the file and moves it to its place
+	public synchronized void commit() throws IOException {
+		generator.writeEndArray();
+		generator.close();
+		Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		committed = true;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public synchronized void close() throws IOException {
+		if (committed) {
+			return;
+		}
+
+		try {
+			generator.close();
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudResponseDTO;
+import eu.arrowhead.common.dto.shared.ServiceInterfaceResponseDTO;
+
+/**
+ * Compact form of an existing intra-cloud authorization entry: its id, its (consumer, provider, service) and the ids of its interfaces.
+ */
+public final class AuthorizationEntry {
+
+	//=================================================================================================
+	// members
+
+	private final long id;
+	private final AuthRuleKey key;
+	private final Set<Long> interfaceIds;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public static AuthorizationEntry of(final AuthorizationIntraCloudResponseDTO dto) {
+		final Set<Long> interfaceIds = new HashSet<>();
+		if (dto.getInterfaces() != null) {
+			for (final ServiceInterfaceResponseDTO interfaceElement : dto.getInterfaces()) {
+				interfaceIds.add(interfaceElement.getId());
+			}
+		}
+
+		return new AuthorizationEntry(dto.getId(), new AuthRuleKey(dto.getConsumerSystem().getId(), dto.getProviderSystem().getId(), dto.getServiceDefinition().getId()),
+									  interfaceIds);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public AuthorizationEntry(final long id, final AuthRuleKey key, final Set<Long> interfaceIds) {
+		this.id = id;
+		this.key = key;
+		this.interfaceIds = Collections.unmodifiableSet(interfaceIds);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public long getId() {
+		return id;
+	}
+
+	public AuthRuleKey getKey() {
+		return key;
+	}
+
+	public Set<Long> getInterfaceIds() {
+		return interfaceIds;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String toString() {
+		return "id: " + id + ", " + key + ", interfaceIds: " + interfaceIds;
+	}
+}
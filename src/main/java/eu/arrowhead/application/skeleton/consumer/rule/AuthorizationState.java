@@ -0,0 +1,46 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudResponseDTO;
+
+/**
+ * In-memory copy of the intra-cloud authorization entries, kept up to date with the results of the DELETE and POST operations.
+ * Thread-safe: pages and operation results can be applied from multiple threads.
+ */
+public class AuthorizationState {
+
+	//=================================================================================================
+	// members
+
+	private final Map<Long, AuthorizationEntry> entries = new LinkedHashMap<>();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public synchronized void accept(final List<AuthorizationIntraCloudResponseDTO> rules) {
+		for (final AuthorizationIntraCloudResponseDTO rule : rules) {
+			final AuthorizationEntry entry = AuthorizationEntry.of(rule);
+			entries.put(entry.getId(), entry);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public synchronized void remove(final long id) {
+		entries.remove(id);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public synchronized List<AuthorizationEntry> getEntries() {
+		return new ArrayList<>(entries.values());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public synchronized int size() {
+		return entries.size();
+	}
+}
@@ -0,0 +1,50 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+/**
+ * Hash set of (consumer, provider, service, interface) id tuples stored in one flat long array,
+ * so deduplicating millions of expanded tuples needs neither a key object nor a boxed Long per tuple.
+ */
+public class CompactTupleSet extends LongTupleHashSet {
+
+	//=================================================================================================
+	// members
+
+	private static final int ARITY = 4;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public CompactTupleSet() {
+		this(0);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public CompactTupleSet(final int expectedSize) {
+		super(ARITY, expectedSize);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// returns false if the tuple was already in the set
+	public boolean add(final long consumerId, final long providerId, final long serviceDefinitionId, final long interfaceId) {
+		setKey(consumerId, providerId, serviceDefinitionId, interfaceId);
+		return addKey();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public boolean contains(final long consumerId, final long providerId, final long serviceDefinitionId, final long interfaceId) {
+		setKey(consumerId, providerId, serviceDefinitionId, interfaceId);
+		return containsKey();
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private void setKey(final long consumerId, final long providerId, final long serviceDefinitionId, final long interfaceId) {
+		key[0] = consumerId;
+		key[1] = providerId;
+		key[2] = serviceDefinitionId;
+		key[3] = interfaceId;
+	}
+}
@@ -0,0 +1,42 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+import java.util.Map;
+import java.util.Set;
+
+public class ExpandedRules {
+
+	//=================================================================================================
+	// members
+
+	private final Map<AuthRuleKey, Set<Long>> authorizations; // (consumer, provider, service) -> interface ids
+	private final Set<Long> consumerIds; // every consumer mentioned in the rules, even if some of its rules could not be expanded
+	private final long duplicateTupleCount; // expanded (consumer, provider, service, interface) tuples dropped as duplicates
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public ExpandedRules(final Map<AuthRuleKey, Set<Long>> authorizations, final Set<Long> consumerIds) {
+		this(authorizations, consumerIds, 0);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public ExpandedRules(final Map<AuthRuleKey, Set<Long>> authorizations, final Set<Long> consumerIds, final long duplicateTupleCount) {
+		this.authorizations = authorizations;
+		this.consumerIds = consumerIds;
+		this.duplicateTupleCount = duplicateTupleCount;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public Map<AuthRuleKey, Set<Long>> getAuthorizations() {
+		return authorizations;
+	}
+
+	public Set<Long> getConsumerIds() {
+		return consumerIds;
+	}
+
+	public long getDuplicateTupleCount() {
+		return duplicateTupleCount;
+	}
+}
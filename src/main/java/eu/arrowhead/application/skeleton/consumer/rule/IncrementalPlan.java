@@ -0,0 +1,59 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+public class IncrementalPlan {
+
+	//=================================================================================================
+	// members
+
+	private final ExpandedRules desired; // the desired entries of the consumers in scope; the consumer ids are the scope
+	private final RuleExpansions expansions; // to be saved once the plan has been applied successfully
+	private final boolean full;
+	private final int changedCount;
+	private final int unchangedCount;
+	private final int removedCount;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public IncrementalPlan(final ExpandedRules desired, final RuleExpansions expansions, final boolean full, final int changedCount, final int unchangedCount, final int removedCount) {
+		this.desired = desired;
+		this.expansions = expansions;
+		this.full = full;
+		this.changedCount = changedCount;
+		this.unchangedCount = unchangedCount;
+		this.removedCount = removedCount;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public ExpandedRules getDesired() {
+		return desired;
+	}
+
+	public RuleExpansions getExpansions() {
+		return expansions;
+	}
+
+	public boolean isFull() {
+		return full;
+	}
+
+	public int getChangedCount() {
+		return changedCount;
+	}
+
+	public int getUnchangedCount() {
+		return unchangedCount;
+	}
+
+	public int getRemovedCount() {
+		return removedCount;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String toString() {
+		return (full ? "full" : "incremental") + " run, changed or added rules: " + changedCount + ", unchanged rules: " + unchangedCount + ", removed rules: " + removedCount
+			   + ", consumers in scope: " + desired.getConsumerIds().size();
+	}
+}
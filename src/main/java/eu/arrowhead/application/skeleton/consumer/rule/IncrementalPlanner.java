@@ -0,0 +1,148 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import eu.arrowhead.application.skeleton.consumer.cache.RegistrySnapshot;
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+import eu.arrowhead.application.skeleton.consumer.resolver.RegistryResolver;
+
+/**
+ * Plans an incremental run from the rule expansions of the last successful run. Every (normalized) rule is identified by a hash of its
+ * content; only the rules whose hash is new are resolved and expanded, the others reuse their stored expansion. The scope of the run is
+ * the consumers of the new rules and of the rules removed since the last run, so the entries of every other consumer are left alone.
+ * If the registry data differs from the one the stored expansions were made against (or its stamp is unknown), every rule is expanded
+ * again and every consumer of the rules is in scope, just like in a normal run (plus the consumers of the removed rules).
+ * A rule that cannot be expanded is not stored, so it is tried again by the next run; its consumers are not in scope meanwhile.
+ */
+public class IncrementalPlanner {
+
+	//=================================================================================================
+	// members
+
+	private final Logger logger = LogManager.getLogger(IncrementalPlanner.class);
+
+	private final RegistryResolver resolver;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public IncrementalPlanner(final RegistryResolver resolver) {
+		this.resolver = resolver;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// previous may be null (no stored expansions)
+	public IncrementalPlan plan(final List<AuthRule> rules, final RuleExpansions previous) {
+		final List<AuthRule> normalizedRules = new AuthRuleNormalizer().normalize(rules);
+		final RegistrySnapshot registryStamp = resolver.getRegistryStamp();
+		final boolean full = previous == null || registryStamp == null || !registryStamp.equals(previous.getRegistryStamp());
+		final Map<Long, ExpandedRules> previousExpansions = full ? Collections.emptyMap() : previous.getExpansionsByRuleHash();
+
+		final Map<Long, ExpandedRules> expansions = new LinkedHashMap<>(normalizedRules.size() * 2);
+		final Set<Long> hashes = new HashSet<>(normalizedRules.size() * 2);
+		final List<AuthRule> changedRules = new ArrayList<>();
+		final List<Long> changedHashes = new ArrayList<>();
+		for (final AuthRule rule : normalizedRules) {
+			final long hash = hash(rule);
+			hashes.add(hash);
+			final ExpandedRules expansion = previousExpansions.get(hash);
+			if (expansion != null) {
+				expansions.put(hash, expansion);
+			} else {
+				changedRules.add(rule);
+				changedHashes.add(hash);
+			}
+		}
+
+		final Set<Long> scope = new LinkedHashSet<>();
+		final List<ExpandedRules> changedExpansions = new AuthRuleExpander(resolver).expandEach(changedRules);
+		for (int i = 0; i < changedExpansions.size(); ++i) {
+			final ExpandedRules expansion = changedExpansions.get(i);
+			if (expansion != null) {
+				expansions.put(changedHashes.get(i), expansion);
+				scope.addAll(expansion.getConsumerIds());
+			}
+		}
+
+		// the consumers of the removed rules are in scope even in a full run, so their entries are cleaned up
+		int removedCount = 0;
+		if (previous != null) {
+			for (final Map.Entry<Long, ExpandedRules> entry : previous.getExpansionsByRuleHash().entrySet()) {
+				if (!hashes.contains(entry.getKey())) {
+					scope.addAll(entry.getValue().getConsumerIds());
+					++removedCount;
+				}
+			}
+		}
+
+		final IncrementalPlan result = new IncrementalPlan(merge(expansions.values(), scope), new RuleExpansions(registryStamp, expansions), full, changedRules.size(),
+														   normalizedRules.size() - changedRules.size(), removedCount);
+		logger.info("Rule planning: " + result.toString());
+		return result;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the first 8 bytes of the SHA-256 of the normalized rule (the order of the interfaces does not matter)
+	public static long hash(final AuthRule normalizedRule) {
+		final List<String> interfaces = new ArrayList<>(normalizedRule.getInterfaces());
+		Collections.sort(interfaces);
+
+		final StringBuilder content = new StringBuilder();
+		content.append(normalizedRule.getConsumer()).append('\n').append(normalizedRule.getProvider()).append('\n').append(normalizedRule.getService()).append('\n');
+		for (final String interfaceName : interfaces) {
+			content.append(interfaceName).append('\n');
+		}
+
+		try {
+			final byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.toString().getBytes(StandardCharsets.UTF_8));
+			return ByteBuffer.wrap(digest).getLong();
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	// the entries of the consumers in scope from every expansion; the tuples produced by more than one rule are counted as duplicates
+	private ExpandedRules merge(final Iterable<ExpandedRules> expansions, final Set<Long> scope) {
+		final Map<AuthRuleKey, Set<Long>> authorizations = new LinkedHashMap<>();
+		long duplicateCount = 0;
+		for (final ExpandedRules expansion : expansions) {
+			if (Collections.disjoint(expansion.getConsumerIds(), scope)) {
+				continue;
+			}
+
+			for (final Map.Entry<AuthRuleKey, Set<Long>> entry : expansion.getAuthorizations().entrySet()) {
+				if (!scope.contains(entry.getKey().getConsumerId())) {
+					continue;
+				}
+
+				final Set<Long> interfaceIds = authorizations.computeIfAbsent(entry.getKey(), k -> new LinkedHashSet<>());
+				for (final Long interfaceId : entry.getValue()) {
+					if (!interfaceIds.add(interfaceId)) {
+						++duplicateCount;
+					}
+				}
+			}
+		}
+
+		return new ExpandedRules(authorizations, scope, duplicateCount);
+	}
+}
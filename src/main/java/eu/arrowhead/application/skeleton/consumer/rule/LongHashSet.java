@@ -0,0 +1,33 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+/**
+ * Hash set of primitive longs: membership tests and insertions are O(1) without boxing.
+ */
+public class LongHashSet extends LongTupleHashSet {
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public LongHashSet() {
+		this(0);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public LongHashSet(final int expectedSize) {
+		super(1, expectedSize);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// returns false if the value was already in the set
+	public boolean add(final long value) {
+		key[0] = value;
+		return addKey();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public boolean contains(final long value) {
+		key[0] = value;
+		return containsKey();
+	}
+}
@@ -0,0 +1,136 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+import org.springframework.util.Assert;
+
+/**
+ * Open-addressing hash set of fixed-length long tuples stored in one flat long array (linear probing): insertions and membership tests
+ * need neither a key object nor boxing. The subclasses write the tuple to look for into the key array, then call addKey or containsKey,
+ * so the sets are not thread-safe, not even for concurrent reads.
+ */
+abstract class LongTupleHashSet {
+
+	//=================================================================================================
+	// members
+
+	private static final int MIN_CAPACITY = 16;
+	private static final double MAX_LOAD = 0.6;
+	private static final long GOLDEN_RATIO = 0x9e3779b97f4a7c15L;
+
+	protected final long[] key; // the tuple probed by addKey and containsKey
+
+	private final int arity;
+	private long[] table; // arity longs per slot
+	private boolean[] used;
+	private int mask;
+	private int size = 0;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	protected LongTupleHashSet(final int arity, final int expectedSize) {
+		Assert.isTrue(expectedSize >= 0, "The expected size must not be negative!");
+		this.arity = arity;
+		this.key = new long[arity];
+
+		int capacity = MIN_CAPACITY;
+		while (capacity * MAX_LOAD < expectedSize + 1) {
+			capacity <<= 1;
+		}
+		allocate(capacity);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public int size() {
+		return size;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	// returns false if the key was already in the set
+	protected boolean addKey() {
+		if (size + 1 > mask * MAX_LOAD) {
+			rehash();
+		}
+
+		final int slot = findSlot(key, 0);
+		if (used[slot]) {
+			return false;
+		}
+
+		System.arraycopy(key, 0, table, slot * arity, arity);
+		used[slot] = true;
+		++size;
+		return true;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	protected boolean containsKey() {
+		return used[findSlot(key, 0)];
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the slot holding the tuple at the offset of the source array, or the free slot where it belongs
+	private int findSlot(final long[] source, final int sourceOffset) {
+		int slot = hash(source, sourceOffset) & mask;
+		while (used[slot] && !isEqual(slot * arity, source, sourceOffset)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private boolean isEqual(final int offset, final long[] source, final int sourceOffset) {
+		for (int i = 0; i < arity; ++i) {
+			if (table[offset + i] != source[sourceOffset + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void allocate(final int capacity) {
+		table = new long[capacity * arity];
+		used = new boolean[capacity];
+		mask = capacity - 1;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the stored tuples are distinct, so every one of them lands in a free slot of the new table
+	private void rehash() {
+		final long[] oldTable = table;
+		final boolean[] oldUsed = used;
+		allocate(oldUsed.length << 1);
+
+		for (int i = 0; i < oldUsed.length; ++i) {
+			if (oldUsed[i]) {
+				final int slot = findSlot(oldTable, i * arity);
+				System.arraycopy(oldTable, i * arity, table, slot * arity, arity);
+				used[slot] = true;
+			}
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the ids are small sequential numbers, so they are combined with a large odd multiplier and mixed thoroughly (MurmurHash3 finalizer) before masking
+	private int hash(final long[] source, final int sourceOffset) {
+		long h = 0;
+		for (int i = 0; i < arity; ++i) {
+			h = (h ^ source[sourceOffset + i]) * GOLDEN_RATIO;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return (int) h;
+	}
+}
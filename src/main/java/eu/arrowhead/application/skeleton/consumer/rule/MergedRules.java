@@ -0,0 +1,40 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+import java.util.List;
+
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+
+public class MergedRules {
+
+	//=================================================================================================
+	// members
+
+	private final List<AuthRule> rules; // without the duplicates, in the order of the files
+	private final int parsedCount;
+	private final int duplicateCount;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public MergedRules(final List<AuthRule> rules, final int parsedCount, final int duplicateCount) {
+		this.rules = rules;
+		this.parsedCount = parsedCount;
+		this.duplicateCount = duplicateCount;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public List<AuthRule> getRules() {
+		return rules;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public int getParsedCount() {
+		return parsedCount;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public int getDuplicateCount() {
+		return duplicateCount;
+	}
+}
@@ -0,0 +1,44 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ReconciliationPlan {
+
+	//=================================================================================================
+	// members
+
+	private final List<AuthorizationEntry> rulesToDelete;
+	private final Map<AuthRuleKey, Set<Long>> authorizationsToAdd;
+	private final int unchangedCount;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public ReconciliationPlan(final List<AuthorizationEntry> rulesToDelete, final Map<AuthRuleKey, Set<Long>> authorizationsToAdd, final int unchangedCount) {
+		this.rulesToDelete = rulesToDelete;
+		this.authorizationsToAdd = authorizationsToAdd;
+		this.unchangedCount = unchangedCount;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public List<AuthorizationEntry> getRulesToDelete() {
+		return rulesToDelete;
+	}
+
+	public Map<AuthRuleKey, Set<Long>> getAuthorizationsToAdd() {
+		return authorizationsToAdd;
+	}
+
+	public int getUnchangedCount() {
+		return unchangedCount;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String toString() {
+		return "deletes: " + rulesToDelete.size() + ", adds: " + authorizationsToAdd.size() + ", unchanged: " + unchangedCount;
+	}
+}
@@ -0,0 +1,36 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+import java.util.Map;
+
+import eu.arrowhead.application.skeleton.consumer.cache.RegistrySnapshot;
+
+/**
+ * The expansion of every rule of a successful run, keyed by the content hash of the (normalized) rule, together with the stamp of the
+ * registry data the rules were expanded against. An expansion is only reusable while the rule and the registry are both unchanged.
+ */
+public class RuleExpansions {
+
+	//=================================================================================================
+	// members
+
+	private final RegistrySnapshot registryStamp;
+	private final Map<Long, ExpandedRules> expansionsByRuleHash; // rule hash -> expansion of the rule
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public RuleExpansions(final RegistrySnapshot registryStamp, final Map<Long, ExpandedRules> expansionsByRuleHash) {
+		this.registryStamp = registryStamp;
+		this.expansionsByRuleHash = expansionsByRuleHash;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public RegistrySnapshot getRegistryStamp() {
+		return registryStamp;
+	}
+
+	public Map<Long, ExpandedRules> getExpansionsByRuleHash() {
+		return expansionsByRuleHash;
+	}
+}
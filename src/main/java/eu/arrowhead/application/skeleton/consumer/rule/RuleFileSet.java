@@ -0,0 +1,271 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.util.Assert;
+
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+
+/**
+ * The rules files given on the command line: files, directories (every *.json file directly in them) and glob patterns
+ * (e.g. rules/**&#47;*.json). The files are parsed in parallel and merged into one rule list in the order of the locations;
+ * a rule that is already described by an earlier rule (same consumer, provider, service and interfaces) is dropped.
+ */
+public class RuleFileSet {
+
+	//=================================================================================================
+	// members
+
+	private static final String RULES_FILE_EXTENSION = ".json";
+	private static final String GLOB_CHARACTERS = "*?[{";
+
+	private final Logger logger = LogManager.getLogger(RuleFileSet.class);
+
+	private final List<String> locations;
+	private final List<Path> files;
+	private final Set<Path> directories;
+	private final List<Predicate<Path>> filters;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	private RuleFileSet(final List<String> locations, final List<Path> files, final Set<Path> directories, final List<Predicate<Path>> filters) {
+		this.locations = List.copyOf(locations);
+		this.files = Collections.unmodifiableList(files);
+		this.directories = Collections.unmodifiableSet(directories);
+		this.filters = filters;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public static RuleFileSet resolve(final List<String> locations) throws IOException {
+		Assert.notEmpty(locations, "No rules file is given!");
+
+		final Set<Path> files = new LinkedHashSet<>();
+		final Set<Path> directories = new LinkedHashSet<>();
+		final List<Predicate<Path>> filters = new ArrayList<>(locations.size());
+		for (final String location : locations) {
+			final int globStart = indexOfGlob(location);
+			if (globStart >= 0) {
+				final int separator = lastSeparator(location.substring(0, globStart));
+				final Path baseDirectory = Path.of(separator < 0 ? "." : location.substring(0, separator + 1)).toAbsolutePath().normalize();
+				// the glob is matched against absolute, normalized paths
+				final String pattern = baseDirectory.toString().replace("\\", "\\\\") + "/" + location.substring(separator + 1);
+				final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+				final Predicate<Path> filter = path -> matcher.matches(path);
+				final List<Path> matches = Files.isDirectory(baseDirectory) ? list(baseDirectory, Integer.MAX_VALUE, filter) : List.of();
+				if (matches.isEmpty()) {
+					throw new IOException("No rules file matches " + location);
+				}
+				files.addAll(matches);
+				directories.add(baseDirectory);
+				filters.add(filter);
+				continue;
+			}
+
+			final Path path = Path.of(location).toAbsolutePath().normalize();
+			if (Files.isDirectory(path)) {
+				final Predicate<Path> filter = file -> path.equals(file.getParent()) && file.getFileName().toString().endsWith(RULES_FILE_EXTENSION);
+				final List<Path> matches = list(path, 1, filter);
+				if (matches.isEmpty()) {
+					throw new IOException("No rules file (*" + RULES_FILE_EXTENSION + ") found in directory " + location);
+				}
+				files.addAll(matches);
+				directories.add(path);
+				filters.add(filter);
+			} else if (Files.isRegularFile(path)) {
+				files.add(path);
+				directories.add(path.getParent());
+				filters.add(path::equals);
+			} else {
+				throw new IOException("Rules file not found: " + location);
+			}
+		}
+
+		// the directories of the files found by a recursive glob are watched as well
+		for (final Path file : files) {
+			directories.add(file.getParent());
+		}
+
+		return new RuleFileSet(locations, new ArrayList<>(files), directories, filters);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// resolves the same locations again (e.g. after files were added to or removed from a directory)
+	public RuleFileSet refresh() throws IOException {
+		return resolve(locations);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public List<Path> getFiles() {
+		return files;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the directories whose changes can affect the set
+	public Set<Path> getDirectories() {
+		return directories;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// true if the given file belongs (or would belong, if it existed) to the set
+	public boolean matches(final Path file) {
+		final Path normalized = file.toAbsolutePath().normalize();
+		for (final Predicate<Path> filter : filters) {
+			if (filter.test(normalized)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public MergedRules readAll() throws IOException {
+		final List<List<AuthRule>> parsed = parse();
+
+		final Map<List<Object>, Long> seen = new HashMap<>(); // key -> position of the first occurrence (file index, rule index)
+		final List<AuthRule> rules = new ArrayList<>();
+		int parsedCount = 0;
+		int duplicateCount = 0;
+		for (int i = 0; i < files.size(); ++i) {
+			final List<AuthRule> fileRules = parsed.get(i);
+			parsedCount += fileRules.size();
+			for (int j = 0; j < fileRules.size(); ++j) {
+				final AuthRule rule = fileRules.get(j);
+				final Long first = seen.putIfAbsent(getKey(rule), ((long) i << 32) | j);
+				if (first == null) {
+					rules.add(rule);
+				} else {
+					++duplicateCount;
+					logger.debug("Duplicate rule ignored: " + describe(i, j) + " is the same as " + describe((int) (first >>> 32), first.intValue()));
+				}
+			}
+		}
+
+		if (duplicateCount > 0) {
+			logger.info(duplicateCount + " duplicate rule(s) ignored in " + files.size() + " rules file(s).");
+		}
+		return new MergedRules(rules, parsedCount, duplicateCount);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String toString() {
+		return files.stream().map(Path::toString).collect(Collectors.joining(", "));
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	// the files are parsed in parallel (one reader per file), the results are kept in the order of the files
+	private List<List<AuthRule>> parse() throws IOException {
+		if (files.size() == 1) {
+			return List.of(new AuthRuleReader().readAll(files.get(0).toFile()));
+		}
+
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.min(files.size(), Runtime.getRuntime().availableProcessors()));
+		try {
+			final List<CompletableFuture<List<AuthRule>>> futures = new ArrayList<>(files.size());
+			for (final Path file : files) {
+				futures.add(CompletableFuture.supplyAsync(() -> {
+					try {
+						return new AuthRuleReader().readAll(file.toFile());
+					} catch (final IOException e) {
+						throw new CompletionException(e);
+					}
+				}, executor));
+			}
+
+			final List<List<AuthRule>> result = new ArrayList<>(files.size());
+			for (final CompletableFuture<List<AuthRule>> future : futures) {
+				result.add(join(future));
+			}
+			return result;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private List<AuthRule> join(final CompletableFuture<List<AuthRule>> future) throws IOException {
+		try {
+			return future.join();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private String describe(final int fileIndex, final int ruleIndex) {
+		return files.get(fileIndex) + " (rule #" + (ruleIndex + 1) + ")";
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the order of the interfaces does not matter
+	private List<Object> getKey(final AuthRule rule) {
+		final Set<String> interfaces = new TreeSet<>();
+		for (final String interfaceName : rule.getInterfaces()) {
+			interfaces.add(interfaceName.trim());
+		}
+		return List.of(trim(rule.getConsumer()), trim(rule.getProvider()), trim(rule.getService()), interfaces);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private String trim(final String value) {
+		return value == null ? "" : value.trim();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private static int indexOfGlob(final String location) {
+		for (int i = 0; i < location.length(); ++i) {
+			if (GLOB_CHARACTERS.indexOf(location.charAt(i)) >= 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private static int lastSeparator(final String path) {
+		return Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private static List<Path> list(final Path directory, final int depth, final Predicate<Path> filter) throws IOException {
+		try (final Stream<Path> paths = Files.walk(directory, depth)) {
+			return paths.filter(Files::isRegularFile)
+						.map(path -> path.toAbsolutePath().normalize())
+						.filter(filter)
+						.sorted()
+						.collect(Collectors.toList());
+		}
+	}
+}
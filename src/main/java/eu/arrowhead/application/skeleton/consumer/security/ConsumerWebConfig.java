@@ -0,0 +1,28 @@
+package eu.arrowhead.application.skeleton.consumer.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnWebApplication
+public class ConsumerWebConfig implements WebMvcConfigurer {
+
+	//=================================================================================================
+	// members
+
+	@Autowired
+	private RulesClientInterceptor rulesClientInterceptor;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	// every request is checked, the interceptor itself selects the requests of the rules API by their handler
+	@Override
+	public void addInterceptors(final InterceptorRegistry registry) {
+		registry.addInterceptor(rulesClientInterceptor);
+	}
+}
@@ -0,0 +1,85 @@
+package eu.arrowhead.application.skeleton.consumer.security;
+
+import java.security.cert.X509Certificate;
+import java.util.Set;
+
+import javax.naming.InvalidNameException;
+import javax.naming.ldap.LdapName;
+import javax.naming.ldap.Rdn;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import eu.arrowhead.application.skeleton.consumer.ConsumerConstants;
+import eu.arrowhead.application.skeleton.consumer.service.AuthRuleController;
+
+/**
+ * Lets only the systems listed in service_allowed_clients call the rules API. The check is made once the request is mapped to its handler,
+ * so it does not depend on how the path of the request is written (encoded characters, duplicate slashes...).
+ * The system name is the first part of the CN of the client certificate (&lt;system&gt;.&lt;cloud&gt;.&lt;operator&gt;.arrowhead.eu).
+ */
+@Component
+@ConditionalOnWebApplication
+public class RulesClientInterceptor implements HandlerInterceptor {
+
+	//=================================================================================================
+	// members
+
+	private static final String CERTIFICATE_ATTRIBUTE = "javax.servlet.request.X509Certificate";
+	private static final String COMMON_NAME = "CN";
+
+	private final Logger logger = LogManager.getLogger(RulesClientInterceptor.class);
+
+	@Value(ConsumerConstants.$SERVICE_ALLOWED_CLIENTS_WD)
+	private Set<String> allowedClients;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+		if (!(handler instanceof HandlerMethod) || !AuthRuleController.class.isAssignableFrom(((HandlerMethod) handler).getBeanType())) {
+			return true;
+		}
+
+		final String clientName = getClientName(request);
+		if (clientName == null || !allowedClients.contains(clientName)) {
+			logger.debug("Rules API call of " + clientName + " rejected: " + request.getMethod() + " " + request.getRequestURI());
+			throw new ResponseStatusException(HttpStatus.FORBIDDEN, clientName + " is not allowed to use " + ConsumerConstants.RULES_URI + ".");
+		}
+		return true;
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	// null if the request has no client certificate with a CN
+	private String getClientName(final HttpServletRequest request) {
+		final X509Certificate[] certificates = (X509Certificate[]) request.getAttribute(CERTIFICATE_ATTRIBUTE);
+		if (certificates == null || certificates.length == 0) {
+			return null;
+		}
+
+		try {
+			for (final Rdn rdn : new LdapName(certificates[0].getSubjectX500Principal().getName()).getRdns()) {
+				if (COMMON_NAME.equalsIgnoreCase(rdn.getType())) {
+					return rdn.getValue().toString().split("\\.", 2)[0];
+				}
+			}
+		} catch (final InvalidNameException e) {
+			logger.debug("Unparsable client certificate subject: " + e.getMessage());
+		}
+		return null;
+	}
+}
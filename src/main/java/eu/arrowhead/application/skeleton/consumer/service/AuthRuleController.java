@@ -0,0 +1,55 @@
+package eu.arrowhead.application.skeleton.consumer.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import eu.arrowhead.application.skeleton.consumer.ConsumerConstants;
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+import eu.arrowhead.application.skeleton.consumer.data.RuleDeltaDTO;
+import eu.arrowhead.application.skeleton.consumer.data.RuleUpdateResponseDTO;
+
+/**
+ * REST API of the service mode: GET returns the current rule set, PUT replaces it, PATCH adds and removes rules.
+ * Only the clients listed in service_allowed_clients may call it (see RulesClientInterceptor).
+ */
+@RestController
+@ConditionalOnWebApplication
+@RequestMapping(ConsumerConstants.RULES_URI)
+public class AuthRuleController {
+
+	//=================================================================================================
+	// members
+
+	@Autowired
+	private AuthRuleService ruleService;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+	public List<AuthRule> getRules() {
+		return ruleService.getRules();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@PutMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	public RuleUpdateResponseDTO replaceRules(@RequestBody final List<AuthRule> rules) {
+		return ruleService.replaceRules(rules);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@PatchMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	public RuleUpdateResponseDTO applyDelta(@RequestBody final RuleDeltaDTO delta) {
+		return ruleService.applyDelta(delta);
+	}
+}
@@ -0,0 +1,159 @@
+package eu.arrowhead.application.skeleton.consumer.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import eu.arrowhead.application.skeleton.consumer.ConsumerConstants;
+import eu.arrowhead.application.skeleton.consumer.daemon.AuthRuleDaemon;
+import eu.arrowhead.application.skeleton.consumer.daemon.UpdateResult;
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+import eu.arrowhead.application.skeleton.consumer.data.RuleDeltaDTO;
+import eu.arrowhead.application.skeleton.consumer.data.RuleUpdateResponseDTO;
+
+/**
+ * The rule updates of the service mode. The updates are applied by the daemon of the initial run, so they reuse its registry indexes
+ * and authorization state; the requests are rejected until the initial run has completed.
+ */
+@Component
+@ConditionalOnWebApplication
+public class AuthRuleService implements DisposableBean {
+
+	//=================================================================================================
+	// members
+
+	private final Logger logger = LogManager.getLogger(AuthRuleService.class);
+
+	private final CountDownLatch stopped = new CountDownLatch(1);
+
+	private volatile AuthRuleDaemon daemon;
+	private volatile boolean started = false; // stays true after the stop
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	// the requests are accepted from now on, applied by the given (started) daemon
+	public void attach(final AuthRuleDaemon daemon) {
+		this.daemon = daemon;
+		this.started = true;
+		logger.info("Accepting rule updates at " + ConsumerConstants.RULES_URI + "...");
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// blocks until the application is stopped
+	public void awaitStop() throws InterruptedException {
+		stopped.await();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// true if the service has accepted requests at some point, even if it has been stopped since
+	public boolean isStarted() {
+		return started;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public void destroy() {
+		daemon = null;
+		stopped.countDown();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public List<AuthRule> getRules() {
+		return getDaemon().getRules();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public RuleUpdateResponseDTO replaceRules(final List<AuthRule> rules) {
+		if (rules == null) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The rule set is missing!");
+		}
+
+		final AuthRuleDaemon current = getDaemon();
+		final List<AuthRule> validRules = validate(rules, true);
+		return update(() -> current.update(validRules));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public RuleUpdateResponseDTO applyDelta(final RuleDeltaDTO delta) {
+		if (delta == null || (delta.getAdd() == null && delta.getRemove() == null)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The rule delta must contain rules to add or to remove!");
+		}
+
+		final AuthRuleDaemon current = getDaemon();
+		final List<AuthRule> addedRules = validate(delta.getAdd() == null ? List.of() : delta.getAdd(), true);
+		final List<AuthRule> removedRules = validate(delta.getRemove() == null ? List.of() : delta.getRemove(), false);
+		return update(() -> current.update(addedRules, removedRules));
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private AuthRuleDaemon getDaemon() {
+		final AuthRuleDaemon result = daemon;
+		if (result == null) {
+			throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The initial update has not completed yet.");
+		}
+		return result;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the rules without interfaces get the default interfaces (like in the rules files) if they are added, and mean every interface if they are removed
+	private List<AuthRule> validate(final List<AuthRule> rules, final boolean added) {
+		final List<AuthRule> result = new ArrayList<>(rules.size());
+		for (final AuthRule rule : rules) {
+			if (rule == null || isBlank(rule.getConsumer()) || isBlank(rule.getProvider()) || isBlank(rule.getService())) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Every rule must have a consumer, a provider and a service: " + rule);
+			}
+
+			List<String> interfaces = rule.getInterfaces();
+			if (interfaces == null || interfaces.isEmpty()) {
+				interfaces = added ? ConsumerConstants.DEFAULT_INTERFACE_NAMES : List.of();
+			} else if (interfaces.stream().anyMatch(this::isBlank)) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The interface names cannot be empty: " + rule);
+			}
+			result.add(new AuthRule(rule.getConsumer(), rule.getProvider(), rule.getService(), new ArrayList<>(interfaces)));
+		}
+		return result;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private boolean isBlank(final String value) {
+		return value == null || value.isBlank();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private RuleUpdateResponseDTO update(final Update update) {
+		final long startedAt = System.currentTimeMillis();
+		final UpdateResult result;
+		try {
+			result = update.run();
+		} catch (final Exception e) {
+			logger.error("Applying the rule update was unsuccessful, reason: " + e.getMessage());
+			throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Applying the rule update was unsuccessful, reason: " + e.getMessage(), e);
+		}
+
+		final long durationMs = System.currentTimeMillis() - startedAt;
+		logger.info("Rule update applied in " + durationMs + " ms (" + result.getOperations().toString() + ").");
+		return new RuleUpdateResponseDTO(result.isSuccess(), result.getRuleCount(), result.getOperations().getDeleteCount(), result.getOperations().getAddCount(), durationMs);
+	}
+
+	//=================================================================================================
+	// nested classes
+
+	//-------------------------------------------------------------------------------------------------
+	@FunctionalInterface
+	private interface Update {
+		UpdateResult run() throws Exception;
+	}
+}
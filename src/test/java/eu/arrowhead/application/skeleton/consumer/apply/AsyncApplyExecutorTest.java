@@ -0,0 +1,76 @@
+package eu.arrowhead.application.skeleton.consumer.apply;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudRequestDTO;
+import eu.arrowhead.common.exception.ArrowheadException;
+
+public class AsyncApplyExecutorTest {
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testFailedDeleteOnlySkipsItsConsumer() {
+		final Set<Long> addedConsumers = ConcurrentHashMap.newKeySet();
+
+		final boolean success = new AsyncApplyExecutor(1).apply(createOperations(),
+																ruleId -> ruleId == 100 ? CompletableFuture.failedFuture(new ArrowheadException("not found", 404)) : done(),
+																rule -> {
+																	addedConsumers.add(rule.getConsumerId());
+																	return done();
+																});
+		assertFalse(success);
+		assertEquals(Set.of(2L), addedConsumers);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testFailedAddStopsFurtherOperations() {
+		final Set<Long> addedConsumers = ConcurrentHashMap.newKeySet();
+
+		// one request in flight: the operations of consumer 2 only start after the add of consumer 1 completed
+		final boolean success = new AsyncApplyExecutor(1).apply(createOperations(), ruleId -> done(), rule -> {
+			addedConsumers.add(rule.getConsumerId());
+			return rule.getConsumerId() == 1 ? CompletableFuture.failedFuture(new ArrowheadException("server error", 500)) : done();
+		});
+		assertFalse(success);
+		assertTrue(addedConsumers.contains(1L));
+		assertFalse(addedConsumers.contains(2L));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testEveryOperationSucceeds() {
+		assertTrue(new AsyncApplyExecutor(4).apply(createOperations(), ruleId -> done(), rule -> done()));
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private CompletableFuture<?> done() {
+		return CompletableFuture.completedFuture(null);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// consumer 1: delete 100, add provider 10; consumer 2: delete 200, add provider 20
+	private AuthRuleOperations createOperations() {
+		final AuthRuleOperations result = new AuthRuleOperations();
+		result.addDelete(1, 100);
+		result.addDelete(2, 200);
+		result.addAdds(List.of(new AuthorizationIntraCloudRequestDTO(1L, List.of(10L), List.of(5L), List.of(7L)),
+							   new AuthorizationIntraCloudRequestDTO(2L, List.of(20L), List.of(5L), List.of(7L))));
+		return result;
+	}
+}
@@ -0,0 +1,59 @@
+package eu.arrowhead.application.skeleton.consumer.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import eu.arrowhead.application.skeleton.consumer.ConsumerConstants;
+import eu.arrowhead.application.skeleton.consumer.resolver.RegistryResolver;
+import eu.arrowhead.common.dto.shared.SystemResponseDTO;
+
+public class RegistrySnapshotCacheTest {
+
+	//=================================================================================================
+	// members
+
+	@TempDir
+	Path directory;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testLongAndNullStringsAreKept() throws IOException {
+		final String longValue = "\u00e9".repeat(40000); // 80000 bytes in UTF-8, more than writeUTF could take
+		final Map<String, String> metadata = new HashMap<>();
+		metadata.put("certificate", longValue);
+		metadata.put("empty", "");
+		metadata.put("missing", null);
+
+		final RegistrySnapshotCache cache = new RegistrySnapshotCache(directory.resolve("snapshot.bin"));
+		final RegistrySnapshotCache.Writer writer = cache.openWriter();
+		writer.writeSystems(List.of(new SystemResponseDTO(7, ConsumerConstants.AUTHORIZATION, null, 8445, null, metadata, null, "2024-01-01 10:00:00")));
+		final RegistrySnapshot written = writer.getSnapshot(1, 0, 0);
+		writer.commit(written);
+
+		final RegistryResolver resolver = new RegistryResolver();
+		final RegistrySnapshot loaded = cache.load(resolver);
+		assertEquals(written, loaded);
+		assertNull(loaded.getServices().getLatestUpdatedAt());
+
+		final SystemResponseDTO system = resolver.getAuthorizationSystem();
+		assertNotNull(system);
+		assertNull(system.getAddress());
+		assertEquals(longValue, system.getMetadata().get("certificate"));
+		assertEquals("", system.getMetadata().get("empty"));
+		assertNull(system.getMetadata().get("missing"));
+		assertEquals(3, system.getMetadata().size());
+	}
+}
@@ -0,0 +1,69 @@
+package eu.arrowhead.application.skeleton.consumer.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import eu.arrowhead.application.skeleton.consumer.rule.AuthRuleKey;
+import eu.arrowhead.application.skeleton.consumer.rule.ExpandedRules;
+import eu.arrowhead.application.skeleton.consumer.rule.RuleExpansions;
+
+public class RuleExpansionCacheTest {
+
+	//=================================================================================================
+	// members
+
+	private static final RegistrySnapshot STAMP = new RegistrySnapshot(new ListStamp(3, "2024-01-01 10:00:00"), new ListStamp(1, null), new ListStamp(2, null));
+
+	@TempDir
+	Path directory;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testSavedExpansionsAreLoaded() throws IOException {
+		final RuleExpansionCache cache = new RuleExpansionCache(directory.resolve("expansions.bin"));
+		cache.save(createExpansions());
+
+		final RuleExpansions loaded = cache.load();
+		assertNotNull(loaded);
+		assertEquals(STAMP, loaded.getRegistryStamp());
+		assertEquals(Set.of(42L), loaded.getExpansionsByRuleHash().keySet());
+		assertEquals(Set.of(1L), loaded.getExpansionsByRuleHash().get(42L).getConsumerIds());
+		assertEquals(Map.of(new AuthRuleKey(1, 2, 3), Set.of(4L, 5L)), loaded.getExpansionsByRuleHash().get(42L).getAuthorizations());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testInvalidatedExpansionsAreGone() throws IOException {
+		final Path file = directory.resolve("expansions.bin");
+		final RuleExpansionCache cache = new RuleExpansionCache(file);
+		cache.save(createExpansions());
+
+		cache.invalidate();
+		assertFalse(Files.exists(file));
+		assertNull(cache.load());
+		cache.invalidate(); // nothing to delete
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private RuleExpansions createExpansions() {
+		final ExpandedRules expansion = new ExpandedRules(Map.of(new AuthRuleKey(1, 2, 3), Set.of(4L, 5L)), Set.of(1L));
+		return new RuleExpansions(STAMP, Map.of(42L, expansion));
+	}
+}
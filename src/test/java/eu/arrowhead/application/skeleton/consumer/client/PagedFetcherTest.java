@@ -0,0 +1,75 @@
+package eu.arrowhead.application.skeleton.consumer.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import eu.arrowhead.application.skeleton.consumer.data.ListResponseDTO;
+import eu.arrowhead.common.exception.ArrowheadException;
+
+public class PagedFetcherTest {
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testCappedPageSizeIsFollowed() {
+		final List<Integer> fetched = Collections.synchronizedList(new ArrayList<>());
+
+		// 1000 requested, but the endpoint only returns 100 per page
+		final long count = new PagedFetcher(1000, 4).fetch(page -> page(250, 100, page), fetched::addAll);
+		assertEquals(250, count);
+		assertEquals(250, fetched.size());
+		assertEquals(250, fetched.stream().distinct().count());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testCappedPageSizeIsFollowedAsync() {
+		final List<Integer> fetched = Collections.synchronizedList(new ArrayList<>());
+
+		final long count = new PagedFetcher(1000, 2).fetchAsync(page -> CompletableFuture.completedFuture(page(250, 100, page)), fetched::addAll);
+		assertEquals(250, count);
+		assertEquals(250, fetched.stream().distinct().count());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testSinglePage() {
+		final List<Integer> fetched = new ArrayList<>();
+
+		assertEquals(0, new PagedFetcher(10, 4).fetch(page -> page(0, 10, page), fetched::addAll));
+		assertEquals(7, new PagedFetcher(10, 4).fetch(page -> page(7, 10, page), fetched::addAll));
+		assertEquals(7, fetched.size());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testShortFetchIsRejected() {
+		// the count grew after the first page was returned, the last page is not there
+		assertThrows(ArrowheadException.class, () -> new PagedFetcher(10, 2).fetch(page -> page == 0 ? page(25, 10, page) : page(20, 10, page), data -> {}));
+		// the endpoint claims elements but returns none
+		assertThrows(ArrowheadException.class, () -> new PagedFetcher(10, 2).fetch(page -> page(5, 0, page), data -> {}));
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private ListResponseDTO<Integer> page(final long count, final int pageSize, final int page) {
+		final List<Integer> data = IntStream.range(page * pageSize, (int) Math.min(count, (page + 1L) * pageSize)).boxed().collect(Collectors.toList());
+		return new ListResponseDTO<>() {
+			@Override public List<Integer> getData() { return data; }
+			@Override public long getCount() { return count; }
+		};
+	}
+}
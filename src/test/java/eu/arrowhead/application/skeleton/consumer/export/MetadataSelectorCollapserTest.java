@@ -0,0 +1,88 @@
+package eu.arrowhead.application.skeleton.consumer.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudResponseDTO;
+import eu.arrowhead.application.skeleton.consumer.resolver.RegistryResolver;
+import eu.arrowhead.common.dto.shared.ServiceDefinitionResponseDTO;
+import eu.arrowhead.common.dto.shared.ServiceInterfaceResponseDTO;
+import eu.arrowhead.common.dto.shared.SystemResponseDTO;
+
+public class MetadataSelectorCollapserTest {
+
+	//=================================================================================================
+	// members
+
+	// two sensors share a name, each provider has a metadata value of its own
+	private static final SystemResponseDTO SENSOR_A = createSystem(1, "sensor", Map.of("site", "a"));
+	private static final SystemResponseDTO SENSOR_B = createSystem(2, "sensor", Map.of("site", "b"));
+	private static final SystemResponseDTO GATEWAY = createSystem(3, "gateway", Map.of("site", "c"));
+	private static final SystemResponseDTO PLC_1 = createSystem(11, "plc-1", Map.of("line", "3"));
+	private static final SystemResponseDTO PLC_2 = createSystem(12, "plc-2", Map.of("line", "3"));
+	private static final ServiceDefinitionResponseDTO SERVICE = new ServiceDefinitionResponseDTO(1, "temperature", null, null);
+	private static final ServiceInterfaceResponseDTO INTERFACE = new ServiceInterfaceResponseDTO(1, "HTTP-SECURE-JSON", null, null);
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testMetadataSelectorReplacesEveryProviderItSelects() {
+		final MetadataSelectorCollapser collapser = createCollapser();
+		collapser.accept(List.of(createEntry(1, GATEWAY, PLC_1), createEntry(2, GATEWAY, PLC_2)));
+
+		assertEquals(List.of("gateway -> line=3"), toStrings(collapser.collapse()));
+		assertEquals(Set.of(), collapser.getSharedNames());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testNameSharedWithSystemWithoutEntryIsReported() {
+		final MetadataSelectorCollapser collapser = createCollapser();
+		collapser.accept(List.of(createEntry(1, SENSOR_A, PLC_1), createEntry(2, GATEWAY, PLC_1)));
+
+		assertEquals(List.of("sensor -> plc-1", "gateway -> plc-1"), toStrings(collapser.collapse()));
+		assertEquals(Set.of("sensor"), collapser.getSharedNames());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testNameSharedOnlyWithinTheEntriesIsNotReported() {
+		final MetadataSelectorCollapser collapser = createCollapser();
+		collapser.accept(List.of(createEntry(1, SENSOR_A, PLC_1), createEntry(2, SENSOR_B, PLC_1)));
+
+		assertEquals(List.of("sensor -> plc-1"), toStrings(collapser.collapse()));
+		assertEquals(Set.of(), collapser.getSharedNames());
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private static SystemResponseDTO createSystem(final long id, final String name, final Map<String, String> metadata) {
+		return new SystemResponseDTO(id, name, "localhost", 8000 + (int) id, null, metadata, null, null);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private MetadataSelectorCollapser createCollapser() {
+		return new MetadataSelectorCollapser(new RegistryResolver(List.of(SENSOR_A, SENSOR_B, GATEWAY, PLC_1, PLC_2), List.of(SERVICE), List.of(INTERFACE)));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private AuthorizationIntraCloudResponseDTO createEntry(final long id, final SystemResponseDTO consumer, final SystemResponseDTO provider) {
+		return new AuthorizationIntraCloudResponseDTO(id, consumer, provider, SERVICE, List.of(INTERFACE), null, null);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private List<String> toStrings(final List<AuthRule> rules) {
+		return rules.stream().map(rule -> rule.getConsumer() + " -> " + rule.getProvider()).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,155 @@
+package eu.arrowhead.application.skeleton.consumer.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import eu.arrowhead.application.skeleton.consumer.apply.AuthRuleOperations;
+import eu.arrowhead.application.skeleton.consumer.data.AuthorizationIntraCloudRequestDTO;
+
+public class OperationJournalTest {
+
+	//=================================================================================================
+	// members
+
+	private static final String RULES_HASH = "hash-of-the-rules-files";
+	private static final String REGISTRY_HASH = "hash-of-the-registry-data";
+
+	@TempDir
+	Path directory;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testPartiallyDonePlanResumesOutstandingOperations() throws IOException {
+		final OperationJournal journal = new OperationJournal(directory.resolve("journal.log"), 1, 0);
+		final AuthRuleOperations operations = createOperations();
+		final AuthorizationIntraCloudRequestDTO firstAdd = operations.getAdds(1).get(0);
+
+		final OperationJournal.Recorder recorder = journal.begin(RULES_HASH, REGISTRY_HASH, operations);
+		recorder.deleted(100);
+		recorder.added(firstAdd);
+		recorder.close();
+
+		final AuthRuleOperations outstanding = journal.loadOutstanding(RULES_HASH, REGISTRY_HASH);
+		assertNotNull(outstanding);
+		assertEquals(List.of(), outstanding.getDeletes(1));
+		assertEquals(List.of(200L), outstanding.getDeletes(2));
+		assertEquals(0, outstanding.getAdds(1).size());
+		assertEquals(1, outstanding.getAdds(2).size());
+		assertEquals(List.of(20L), outstanding.getAdds(2).get(0).getProviderIds());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testTornLastLineIsIgnored() throws IOException {
+		final Path file = directory.resolve("journal.log");
+		final OperationJournal journal = new OperationJournal(file, 1, 0);
+		final OperationJournal.Recorder recorder = journal.begin(RULES_HASH, REGISTRY_HASH, createOperations());
+		recorder.deleted(100);
+		recorder.close();
+		Files.write(file, "{\"type\":\"done\",\"o".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+		final AuthRuleOperations outstanding = journal.loadOutstanding(RULES_HASH, REGISTRY_HASH);
+		assertNotNull(outstanding);
+		assertEquals(1, outstanding.getDeleteCount());
+		assertEquals(2, outstanding.getAddCount());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testJournalOfDifferentRulesFilesIsDiscarded() throws IOException {
+		final Path file = directory.resolve("journal.log");
+		final OperationJournal journal = new OperationJournal(file, 1, 0);
+		journal.begin(RULES_HASH, REGISTRY_HASH, createOperations()).close();
+
+		assertNull(journal.loadOutstanding("hash-of-other-rules-files", REGISTRY_HASH));
+		assertFalse(Files.exists(file));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testJournalOfDifferentRegistryDataIsDiscarded() throws IOException {
+		final Path file = directory.resolve("journal.log");
+		final OperationJournal journal = new OperationJournal(file, 1, 0);
+		journal.begin(RULES_HASH, REGISTRY_HASH, createOperations()).close();
+
+		// the planned ids may belong to systems that were removed or renamed since
+		assertNull(journal.loadOutstanding(RULES_HASH, "hash-of-changed-registry-data"));
+		assertFalse(Files.exists(file));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testIncompletePlanIsDiscarded() throws IOException {
+		final Path file = directory.resolve("journal.log");
+		final OperationJournal journal = new OperationJournal(file, 1, 0);
+		journal.begin(RULES_HASH, REGISTRY_HASH, createOperations()).close();
+
+		// the plan is cut before its closing record
+		final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+		Files.write(file, lines.subList(0, 3), StandardCharsets.UTF_8);
+
+		assertNull(journal.loadOutstanding(RULES_HASH, REGISTRY_HASH));
+		assertFalse(Files.exists(file));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testFinishedRunLeavesNothingToResume() throws IOException {
+		final Path file = directory.resolve("journal.log");
+		final OperationJournal journal = new OperationJournal(file, 1, 0);
+		final AuthRuleOperations operations = createOperations();
+		final OperationJournal.Recorder recorder = journal.begin(RULES_HASH, REGISTRY_HASH, operations);
+		assertTrue(Files.exists(file));
+		recorder.finish();
+
+		assertFalse(Files.exists(file));
+		assertNull(journal.loadOutstanding(RULES_HASH, REGISTRY_HASH));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testEveryOperationDoneLeavesNothingToResume() throws IOException {
+		final Path file = directory.resolve("journal.log");
+		final OperationJournal journal = new OperationJournal(file, 1, 0);
+		final AuthRuleOperations operations = createOperations();
+		final OperationJournal.Recorder recorder = journal.begin(RULES_HASH, REGISTRY_HASH, operations);
+		recorder.deleted(100);
+		recorder.deleted(200);
+		recorder.added(operations.getAdds(1).get(0));
+		recorder.added(operations.getAdds(2).get(0));
+		recorder.close();
+
+		assertNull(journal.loadOutstanding(RULES_HASH, REGISTRY_HASH));
+		assertFalse(Files.exists(file));
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	// consumer 1: delete 100, add provider 10; consumer 2: delete 200, add provider 20
+	private AuthRuleOperations createOperations() {
+		final AuthRuleOperations result = new AuthRuleOperations();
+		result.addDelete(1, 100);
+		result.addDelete(2, 200);
+		result.addAdds(List.of(new AuthorizationIntraCloudRequestDTO(1L, List.of(10L), List.of(5L), List.of(7L)),
+							   new AuthorizationIntraCloudRequestDTO(2L, List.of(20L), List.of(5L), List.of(7L))));
+		return result;
+	}
+}
@@ -0,0 +1,58 @@
+package eu.arrowhead.application.skeleton.consumer.resolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+public class MetadataConditionsTest {
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testMultipleConditions() {
+		assertEquals(List.of("site=budapest", "type=temperature"), toStrings(MetadataConditions.parse(" site = budapest ;type=temperature;")));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testSingleConditionWithSeparatorInValue() {
+		assertEquals(List.of("path=/a;b;c"), toStrings(MetadataConditions.parse("path=/a;b;c")));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testEscapedSeparator() {
+		assertEquals(List.of("unit;scale=si", "site=budapest"), toStrings(MetadataConditions.parse("unit\\;scale=si;site=budapest")));
+		assertEquals(List.of("path=/a;"), toStrings(MetadataConditions.parse("path=/a\\;")));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testFormatIsParsedBack() {
+		final String selector = MetadataConditions.format("unit;scale", "a;");
+		assertEquals("unit\\;scale=a\\;", selector);
+		assertEquals(List.of("unit;scale=a;"), toStrings(MetadataConditions.parse(selector)));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testInvalidSelectors() {
+		assertThrows(IllegalArgumentException.class, () -> MetadataConditions.parse(";"));
+		assertThrows(IllegalArgumentException.class, () -> MetadataConditions.parse("a=b=c"));
+		assertThrows(IllegalArgumentException.class, () -> MetadataConditions.parse("site=budapest;type="));
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private List<String> toStrings(final List<String[]> conditions) {
+		return conditions.stream().map(condition -> condition[0] + "=" + condition[1]).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,57 @@
+package eu.arrowhead.application.skeleton.consumer.resolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import eu.arrowhead.common.dto.shared.ServiceDefinitionResponseDTO;
+import eu.arrowhead.common.dto.shared.ServiceInterfaceResponseDTO;
+import eu.arrowhead.common.dto.shared.SystemResponseDTO;
+
+public class RegistryResolverTest {
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testContentHashIgnoresPageOrder() {
+		final RegistryResolver inOrder = new RegistryResolver();
+		inOrder.addSystems(List.of(system(1, "sensor", "site", "budapest"), system(2, "sensor", "site", "vienna")));
+		inOrder.addSystems(List.of(system(3, "plc", "site", "budapest")));
+		inOrder.addServices(List.of(new ServiceDefinitionResponseDTO(10, "temperature", null, null)));
+		inOrder.addInterfaces(List.of(new ServiceInterfaceResponseDTO(20, "HTTP-SECURE-JSON", null, null)));
+
+		final RegistryResolver reordered = new RegistryResolver();
+		reordered.addInterfaces(List.of(new ServiceInterfaceResponseDTO(20, "HTTP-SECURE-JSON", null, null)));
+		reordered.addSystems(List.of(system(3, "plc", "site", "budapest")));
+		reordered.addServices(List.of(new ServiceDefinitionResponseDTO(10, "temperature", null, null)));
+		reordered.addSystems(List.of(system(2, "sensor", "site", "vienna"), system(1, "sensor", "site", "budapest")));
+
+		assertEquals(inOrder.getContentHash(), reordered.getContentHash());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testContentHashSeesChangedMetadata() {
+		final RegistryResolver before = new RegistryResolver();
+		before.addSystems(List.of(system(1, "sensor", "site", "budapest"), system(2, "sensor", "site", "vienna")));
+
+		final RegistryResolver after = new RegistryResolver();
+		after.addSystems(List.of(system(1, "sensor", "site", "vienna"), system(2, "sensor", "site", "budapest")));
+
+		assertNotEquals(before.getContentHash(), after.getContentHash());
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private SystemResponseDTO system(final long id, final String name, final String metadataKey, final String metadataValue) {
+		return new SystemResponseDTO(id, name, "localhost", 8080, null, Map.of(metadataKey, metadataValue), null, null);
+	}
+}
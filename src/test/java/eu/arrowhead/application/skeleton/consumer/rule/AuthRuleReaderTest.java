@@ -0,0 +1,57 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import eu.arrowhead.application.skeleton.consumer.ConsumerConstants;
+import eu.arrowhead.application.skeleton.consumer.data.AuthRule;
+
+public class AuthRuleReaderTest {
+
+	//=================================================================================================
+	// members
+
+	@TempDir
+	Path directory;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testUnknownPropertiesAreIgnored() throws IOException {
+		final Path file = write("[{\"consumer\":\"c\",\"provider\":\"p\",\"service\":\"s\",\"comment\":\"added by hand\"}]");
+
+		final List<AuthRule> rules = new AuthRuleReader().readAll(file.toFile());
+		assertEquals(1, rules.size());
+		assertEquals("c", rules.get(0).getConsumer());
+		assertEquals(ConsumerConstants.DEFAULT_INTERFACE_NAMES, rules.get(0).getInterfaces());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testNotAnArrayIsRejected() throws IOException {
+		final Path file = write("{\"consumer\":\"c\"}");
+
+		assertThrows(IOException.class, () -> new AuthRuleReader().readAll(file.toFile()));
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private Path write(final String content) throws IOException {
+		final Path file = directory.resolve("rules.json");
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+}
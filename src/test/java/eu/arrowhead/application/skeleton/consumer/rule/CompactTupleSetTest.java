@@ -0,0 +1,60 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class CompactTupleSetTest {
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testDuplicateAddIsRejected() {
+		final CompactTupleSet set = new CompactTupleSet();
+		assertTrue(set.add(1, 2, 3, 4));
+		assertFalse(set.add(1, 2, 3, 4));
+		assertEquals(1, set.size());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testContainsComparesEveryPosition() {
+		final CompactTupleSet set = new CompactTupleSet();
+		set.add(1, 2, 3, 4);
+		assertTrue(set.contains(1, 2, 3, 4));
+		assertFalse(set.contains(4, 3, 2, 1));
+		assertFalse(set.contains(1, 2, 3, 5));
+		assertFalse(set.contains(0, 2, 3, 4));
+		assertTrue(set.add(2, 1, 3, 4));
+		assertEquals(2, set.size());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testRehashKeepsEveryTuple() {
+		final CompactTupleSet set = new CompactTupleSet(); // 16 slots at the start
+		for (long consumerId = 1; consumerId <= 50; ++consumerId) {
+			for (long providerId = 1; providerId <= 50; ++providerId) {
+				for (long interfaceId = 1; interfaceId <= 4; ++interfaceId) {
+					assertTrue(set.add(consumerId, providerId, 7, interfaceId));
+				}
+			}
+		}
+
+		assertEquals(10_000, set.size());
+		for (long consumerId = 1; consumerId <= 50; ++consumerId) {
+			for (long providerId = 1; providerId <= 50; ++providerId) {
+				for (long interfaceId = 1; interfaceId <= 4; ++interfaceId) {
+					assertTrue(set.contains(consumerId, providerId, 7, interfaceId));
+					assertFalse(set.add(consumerId, providerId, 7, interfaceId));
+				}
+				assertFalse(set.contains(consumerId, providerId, 8, 1));
+			}
+		}
+		assertEquals(10_000, set.size());
+	}
+}
@@ -0,0 +1,62 @@
+package eu.arrowhead.application.skeleton.consumer.rule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LongHashSetTest {
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testDuplicateAddIsRejected() {
+		final LongHashSet set = new LongHashSet();
+		assertTrue(set.isEmpty());
+		assertTrue(set.add(42));
+		assertFalse(set.add(42));
+		assertEquals(1, set.size());
+		assertFalse(set.isEmpty());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testContains() {
+		final LongHashSet set = new LongHashSet();
+		set.add(0);
+		set.add(-1);
+		set.add(Long.MAX_VALUE);
+		assertTrue(set.contains(0));
+		assertTrue(set.contains(-1));
+		assertTrue(set.contains(Long.MAX_VALUE));
+		assertFalse(set.contains(1));
+		assertFalse(set.contains(Long.MIN_VALUE));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testRehashKeepsEveryValue() {
+		final LongHashSet set = new LongHashSet(); // 16 slots at the start
+		for (long i = 1; i <= 10_000; ++i) {
+			assertTrue(set.add(i * 16)); // same low bits, so only the hash mixing spreads them
+		}
+
+		assertEquals(10_000, set.size());
+		for (long i = 1; i <= 10_000; ++i) {
+			assertTrue(set.contains(i * 16));
+			assertFalse(set.add(i * 16));
+			assertFalse(set.contains(i * 16 + 1));
+		}
+		assertEquals(10_000, set.size());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testNegativeExpectedSize() {
+		assertThrows(IllegalArgumentException.class, () -> new LongHashSet(-1));
+	}
+}